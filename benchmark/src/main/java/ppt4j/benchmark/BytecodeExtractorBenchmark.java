@@ -0,0 +1,32 @@
+package ppt4j.benchmark;
+
+import ppt4j.feature.bytecode.BytecodeExtractor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BytecodeExtractorBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Fixtures.Size size;
+
+    @Setup
+    public void setup() {
+        Fixtures.init();
+    }
+
+    // reading the class files is part of it, as in ExtractorFactory
+    @Benchmark
+    public BytecodeExtractor parse() {
+        BytecodeExtractor extractor = Fixtures.newBytecodeExtractor(size);
+        extractor.parse();
+        return extractor;
+    }
+
+}
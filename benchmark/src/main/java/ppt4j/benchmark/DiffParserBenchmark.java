@@ -0,0 +1,32 @@
+package ppt4j.benchmark;
+
+import ppt4j.diff.DiffParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiffParserBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Fixtures.Size size;
+
+    private byte[] diff;
+
+    @Setup
+    public void setup() {
+        Fixtures.init();
+        diff = Fixtures.getDiff(size);
+    }
+
+    @Benchmark
+    public DiffParser parse() {
+        return new DiffParser(diff);
+    }
+
+}
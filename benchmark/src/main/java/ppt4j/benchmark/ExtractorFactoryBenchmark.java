@@ -0,0 +1,38 @@
+package ppt4j.benchmark;
+
+import ppt4j.factory.ExtractorFactory;
+import ppt4j.feature.java.JavaExtractor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExtractorFactoryBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Fixtures.Size size;
+
+    private String root;
+
+    @Setup
+    public void setup() {
+        Fixtures.init();
+        root = Fixtures.getSourceRoot().toString();
+    }
+
+    // a cold factory: indexing, model building and parsing of one class
+    @Benchmark
+    public JavaExtractor getJavaExtractor() {
+        try (ExtractorFactory factory = ExtractorFactory.get(root, root, root)) {
+            factory.expectClasses(List.of(size.getClassName()));
+            return factory.getPreJavaClass(size.getClassName());
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package ppt4j.benchmark;
+
+import ppt4j.analysis.java.LibraryConstants;
+import ppt4j.feature.bytecode.BytecodeExtractor;
+import ppt4j.feature.java.JavaExtractor;
+import ppt4j.util.PropertyUtils;
+import ppt4j.util.ResourceUtils;
+import org.objectweb.asm.ClassReader;
+import spoon.Launcher;
+import spoon.reflect.declaration.CtClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+// The checked-in inputs of the benchmarks. Each size is one class of
+// ppt4j.benchmark.fixture and a diff of it, see src/main/resources/fixture.
+public final class Fixtures {
+
+    public enum Size {
+        SMALL("Small"), MEDIUM("Medium"), HUGE("Huge");
+
+        private final String simpleName;
+
+        Size(String simpleName) {
+            this.simpleName = simpleName;
+        }
+
+        public String getClassName() {
+            return PACKAGE + "." + simpleName;
+        }
+
+        public String getSourceFile() {
+            return PACKAGE.replace('.', '/') + "/" + simpleName + ".java";
+        }
+
+        public String getClassFile(String suffix) {
+            return PACKAGE.replace('.', '/') + "/" + simpleName + suffix + ".class";
+        }
+
+        public String getDiffFile() {
+            return "fixture/" + name().toLowerCase() + ".diff";
+        }
+    }
+
+    private static final String PACKAGE = "ppt4j.benchmark.fixture";
+
+    private static boolean initialized = false;
+
+    private static Path sourceRoot;
+
+    private Fixtures() {
+    }
+
+    // what AspectUtils does before main when the weaving agent is attached
+    public static synchronized void init() {
+        if(initialized) {
+            return;
+        }
+        PropertyUtils.load(ResourceUtils.readProperties());
+        Properties overrides = new Properties();
+        // benchmarks must measure parsing, not the on-disk cache
+        overrides.put("ppt4j.cache.extractors.max_size_mb", "0");
+        PropertyUtils.override(overrides);
+        PropertyUtils.init();
+        LibraryConstants.init();
+        initialized = true;
+    }
+
+    // overrides a property after init, e.g. to compare matcher modes
+    public static synchronized void setProperty(String key, String value) {
+        init();
+        Properties overrides = new Properties();
+        overrides.put(key, value);
+        PropertyUtils.override(overrides);
+        PropertyUtils.init();
+    }
+
+    public static byte[] read(String resource) {
+        try (InputStream is = Fixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if(is == null) {
+                throw new IllegalStateException("Missing fixture " + resource);
+            }
+            return is.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static byte[] getDiff(Size size) {
+        return read(size.getDiffFile());
+    }
+
+    // a source root holding the fixture classes as .java files
+    public static synchronized Path getSourceRoot() {
+        if(sourceRoot != null) {
+            return sourceRoot;
+        }
+        try {
+            Path root = Files.createTempDirectory("ppt4j-fixture");
+            for (Size size : Size.values()) {
+                Path file = root.resolve(size.getSourceFile());
+                Files.createDirectories(file.getParent());
+                Files.write(file, read(size.getSourceFile()));
+            }
+            sourceRoot = root;
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static CtClass<?> getSourceClass(Size size) {
+        Launcher launcher = new Launcher();
+        launcher.addInputResource(getSourceRoot().resolve(size.getSourceFile()).toString());
+        launcher.getEnvironment().setPreserveLineNumbers(true);
+        launcher.getEnvironment().setIgnoreDuplicateDeclarations(true);
+        launcher.buildModel();
+        return launcher.getFactory().Class().get(size.getClassName());
+    }
+
+    public static JavaExtractor getJavaExtractor(Size size) {
+        JavaExtractor extractor = new JavaExtractor(getSourceClass(size));
+        extractor.parse();
+        return extractor;
+    }
+
+    // the class and its inner classes, not parsed yet
+    public static BytecodeExtractor newBytecodeExtractor(Size size) {
+        BytecodeExtractor extractor = new BytecodeExtractor(
+                new ClassReader(read(size.getClassFile(""))));
+        ClassLoader loader = Fixtures.class.getClassLoader();
+        if(loader.getResource(size.getClassFile("$Item")) != null) {
+            extractor.putInnerClass(new BytecodeExtractor(
+                    new ClassReader(read(size.getClassFile("$Item")))));
+        }
+        for (int i = 1; loader.getResource(size.getClassFile("$" + i)) != null; i++) {
+            extractor.putInnerClass(new BytecodeExtractor(
+                    new ClassReader(read(size.getClassFile("$" + i)))));
+        }
+        return extractor;
+    }
+
+    public static BytecodeExtractor getBytecodeExtractor(Size size) {
+        BytecodeExtractor extractor = newBytecodeExtractor(size);
+        extractor.parse();
+        return extractor;
+    }
+
+}
@@ -0,0 +1,65 @@
+package ppt4j.benchmark;
+
+import ppt4j.analysis.patch.CrossMatcher;
+import ppt4j.diff.BlockDiff;
+import ppt4j.diff.DiffParser;
+import ppt4j.feature.bytecode.BytecodeExtractor;
+import ppt4j.feature.java.JavaExtractor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class J2BCMatcherBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Fixtures.Size size;
+
+    @Param({"false", "true"})
+    public boolean diffAddition;
+
+    @Param({"false", "true"})
+    public boolean lazy;
+
+    private JavaExtractor source;
+
+    private BytecodeExtractor bytecode;
+
+    // the lines of the diff PatchAnalyzer would query
+    private int[] queries;
+
+    @Setup
+    public void setup() {
+        Fixtures.setProperty("ppt4j.analysis.matcher.lazy", String.valueOf(lazy));
+        source = Fixtures.getJavaExtractor(size);
+        bytecode = Fixtures.getBytecodeExtractor(size);
+        List<Integer> lines = new ArrayList<>();
+        DiffParser diff = new DiffParser(Fixtures.getDiff(size));
+        for (int i = 0; i < diff.getNumOfDiffs(); i++) {
+            for (BlockDiff block : diff.getFileDiff(i).getBlocks()) {
+                lines.addAll(diffAddition ? block.getAdditionLines() : block.getDeletionLines());
+            }
+        }
+        queries = lines.stream().mapToInt(source::getLogicalLine).toArray();
+    }
+
+    @Benchmark
+    public int match() {
+        CrossMatcher matcher = CrossMatcher.get(source, bytecode, diffAddition);
+        int matched = 0;
+        for (int line : queries) {
+            if(matcher.isMatched(line)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+}
@@ -0,0 +1,73 @@
+package ppt4j.benchmark;
+
+import ppt4j.feature.FeatureMatcher;
+import ppt4j.feature.Features;
+import ppt4j.feature.bytecode.BytecodeExtractor;
+import ppt4j.feature.bytecode.BytecodeFeatures;
+import ppt4j.feature.java.JavaExtractor;
+import ppt4j.feature.java.JavaFeatures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JaccardMatcherBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Fixtures.Size size;
+
+    // false: compare copies without feature ids, i.e. through the sets
+    @Param({"true", "false"})
+    public boolean encoded;
+
+    private final FeatureMatcher matcher = FeatureMatcher.get("jaccard");
+
+    private Features[] sources;
+
+    private Features[] bytecodes;
+
+    // source lines paired with bytecode lines at the same relative position,
+    // like the candidates J2BCMatcher scores
+    @Setup
+    public void setup() {
+        Fixtures.init();
+        JavaExtractor source = Fixtures.getJavaExtractor(size);
+        BytecodeExtractor bytecode = Fixtures.getBytecodeExtractor(size);
+        List<Features> lines = new ArrayList<>(source.getFeaturesMap().values());
+        List<Features> insts = new ArrayList<>(bytecode.getFeaturesMap().values());
+        sources = new Features[PAIRS];
+        bytecodes = new Features[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            int k = i % lines.size();
+            sources[i] = lines.get(k);
+            bytecodes[i] = insts.get((int) ((long) k * insts.size() / lines.size()));
+            if(!encoded) {
+                JavaFeatures copy = JavaFeatures.empty();
+                copy.merge((JavaFeatures) sources[i]);
+                sources[i] = copy;
+                bytecodes[i] = BytecodeFeatures.merge(BytecodeFeatures.empty(),
+                        (BytecodeFeatures) bytecodes[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public double match() {
+        double sum = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            sum += matcher.match(sources[i], bytecodes[i]);
+        }
+        return sum;
+    }
+
+}
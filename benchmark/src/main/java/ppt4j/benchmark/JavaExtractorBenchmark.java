@@ -0,0 +1,36 @@
+package ppt4j.benchmark;
+
+import ppt4j.feature.java.JavaExtractor;
+import org.openjdk.jmh.annotations.*;
+import spoon.reflect.declaration.CtClass;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JavaExtractorBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Fixtures.Size size;
+
+    private CtClass<?> clazz;
+
+    // the Spoon model is built once, only the feature extraction is measured
+    @Setup
+    public void setup() {
+        Fixtures.init();
+        clazz = Fixtures.getSourceClass(size);
+    }
+
+    @Benchmark
+    public JavaExtractor parse() {
+        JavaExtractor extractor = new JavaExtractor(clazz);
+        extractor.parse();
+        return extractor;
+    }
+
+}
@@ -0,0 +1,4434 @@
+package ppt4j.benchmark.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Generated benchmark fixture, do not edit by hand
+@SuppressWarnings("all")
+public class Huge {
+
+    public static final int MAX_LENGTH = 128;
+
+    public static final long LIMIT = 1L << 30;
+
+    private final Map<String, Object> cache = new HashMap<>();
+
+    private int counter;
+
+    private int misses;
+
+    public static class Item {
+        String name;
+        int weight;
+
+        public Item(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        public int score(int bonus) {
+            return weight * 31 + name.hashCode() + bonus;
+        }
+    }
+
+    public Map<String, String> parseHeader0(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(";");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum1(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 72121L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 5) | (hash >>> 51);
+            hash *= 7;
+        }
+        return hash;
+    }
+
+    public String resolvePath2(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 256) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems3(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup4(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step5(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 25 : 0;
+            case 25:
+                if (input == '.') {
+                    return 36;
+                }
+                return Character.isDigit(input) ? 25 : -1;
+            case 36:
+                return Character.isDigit(input) ? 15 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy6(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average7(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 8.9 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape8(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule9(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 2;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader10(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum11(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 42122L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 6) | (hash >>> 60);
+            hash *= 23;
+        }
+        return hash;
+    }
+
+    public String resolvePath12(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems13(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup14(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step15(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 27 : 0;
+            case 27:
+                if (input == '.') {
+                    return 22;
+                }
+                return Character.isDigit(input) ? 27 : -1;
+            case 22:
+                return Character.isDigit(input) ? 9 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy16(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average17(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 6.4 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape18(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule19(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 4;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader20(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(",");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum21(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 51987L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 5) | (hash >>> 51);
+            hash *= 30;
+        }
+        return hash;
+    }
+
+    public String resolvePath22(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems23(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup24(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step25(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 1 : 0;
+            case 1:
+                if (input == '.') {
+                    return 30;
+                }
+                return Character.isDigit(input) ? 1 : -1;
+            case 30:
+                return Character.isDigit(input) ? 17 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy26(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average27(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 7.9 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape28(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule29(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 3;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader30(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum31(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 56654L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 2) | (hash >>> 59);
+            hash *= 15;
+        }
+        return hash;
+    }
+
+    public String resolvePath32(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 256) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems33(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup34(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step35(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 21 : 0;
+            case 21:
+                if (input == '.') {
+                    return 32;
+                }
+                return Character.isDigit(input) ? 21 : -1;
+            case 32:
+                return Character.isDigit(input) ? 1 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy36(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average37(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 9.4 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape38(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule39(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 4;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader40(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(";");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum41(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 38540L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 1) | (hash >>> 52);
+            hash *= 16;
+        }
+        return hash;
+    }
+
+    public String resolvePath42(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems43(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup44(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step45(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 39 : 0;
+            case 39:
+                if (input == '.') {
+                    return 32;
+                }
+                return Character.isDigit(input) ? 39 : -1;
+            case 32:
+                return Character.isDigit(input) ? 17 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy46(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average47(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 3.3 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape48(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule49(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader50(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum51(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 87167L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 2) | (hash >>> 56);
+            hash *= 31;
+        }
+        return hash;
+    }
+
+    public String resolvePath52(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems53(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup54(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step55(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 19 : 0;
+            case 19:
+                if (input == '.') {
+                    return 28;
+                }
+                return Character.isDigit(input) ? 19 : -1;
+            case 28:
+                return Character.isDigit(input) ? 30 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy56(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average57(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 4.7 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape58(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule59(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader60(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum61(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 50188L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 3) | (hash >>> 59);
+            hash *= 7;
+        }
+        return hash;
+    }
+
+    public String resolvePath62(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems63(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup64(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step65(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 23 : 0;
+            case 23:
+                if (input == '.') {
+                    return 6;
+                }
+                return Character.isDigit(input) ? 23 : -1;
+            case 6:
+                return Character.isDigit(input) ? 35 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy66(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average67(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 4.6 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape68(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule69(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 4;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader70(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum71(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 56299L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 2) | (hash >>> 60);
+            hash *= 12;
+        }
+        return hash;
+    }
+
+    public String resolvePath72(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems73(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup74(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step75(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 26 : 0;
+            case 26:
+                if (input == '.') {
+                    return 39;
+                }
+                return Character.isDigit(input) ? 26 : -1;
+            case 39:
+                return Character.isDigit(input) ? 4 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy76(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average77(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 6.5 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape78(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule79(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 5;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader80(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(",");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum81(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 82540L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 3) | (hash >>> 60);
+            hash *= 10;
+        }
+        return hash;
+    }
+
+    public String resolvePath82(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems83(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup84(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step85(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 32 : 0;
+            case 32:
+                if (input == '.') {
+                    return 4;
+                }
+                return Character.isDigit(input) ? 32 : -1;
+            case 4:
+                return Character.isDigit(input) ? 30 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy86(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average87(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 3.0 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape88(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule89(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader90(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum91(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 84389L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 6) | (hash >>> 58);
+            hash *= 8;
+        }
+        return hash;
+    }
+
+    public String resolvePath92(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems93(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup94(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step95(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 3 : 0;
+            case 3:
+                if (input == '.') {
+                    return 38;
+                }
+                return Character.isDigit(input) ? 3 : -1;
+            case 38:
+                return Character.isDigit(input) ? 30 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy96(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average97(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 6.1 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape98(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule99(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 3;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader100(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(",");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum101(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 73816L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 1) | (hash >>> 59);
+            hash *= 23;
+        }
+        return hash;
+    }
+
+    public String resolvePath102(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems103(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup104(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step105(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 12 : 0;
+            case 12:
+                if (input == '.') {
+                    return 39;
+                }
+                return Character.isDigit(input) ? 12 : -1;
+            case 39:
+                return Character.isDigit(input) ? 24 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy106(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average107(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 7.0 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape108(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule109(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 5;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader110(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(";");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum111(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 95290L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 6) | (hash >>> 52);
+            hash *= 8;
+        }
+        return hash;
+    }
+
+    public String resolvePath112(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems113(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup114(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step115(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 34 : 0;
+            case 34:
+                if (input == '.') {
+                    return 14;
+                }
+                return Character.isDigit(input) ? 34 : -1;
+            case 14:
+                return Character.isDigit(input) ? 1 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy116(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average117(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 5.2 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape118(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule119(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 3;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader120(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(",");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum121(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 52179L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 2) | (hash >>> 50);
+            hash *= 8;
+        }
+        return hash;
+    }
+
+    public String resolvePath122(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 256) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems123(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup124(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step125(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 3 : 0;
+            case 3:
+                if (input == '.') {
+                    return 26;
+                }
+                return Character.isDigit(input) ? 3 : -1;
+            case 26:
+                return Character.isDigit(input) ? 18 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy126(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average127(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 6.3 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape128(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule129(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader130(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(",");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum131(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 96613L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 4) | (hash >>> 56);
+            hash *= 29;
+        }
+        return hash;
+    }
+
+    public String resolvePath132(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems133(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup134(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step135(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 27 : 0;
+            case 27:
+                if (input == '.') {
+                    return 24;
+                }
+                return Character.isDigit(input) ? 27 : -1;
+            case 24:
+                return Character.isDigit(input) ? 19 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy136(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average137(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 9.6 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape138(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule139(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 4;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader140(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(";");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum141(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 9156L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 1) | (hash >>> 58);
+            hash *= 28;
+        }
+        return hash;
+    }
+
+    public String resolvePath142(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 256) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems143(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup144(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step145(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 20 : 0;
+            case 20:
+                if (input == '.') {
+                    return 19;
+                }
+                return Character.isDigit(input) ? 20 : -1;
+            case 19:
+                return Character.isDigit(input) ? 10 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy146(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average147(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 9.3 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape148(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule149(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 2;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader150(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(",");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum151(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 73675L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 6) | (hash >>> 57);
+            hash *= 12;
+        }
+        return hash;
+    }
+
+    public String resolvePath152(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems153(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup154(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step155(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 2 : 0;
+            case 2:
+                if (input == '.') {
+                    return 34;
+                }
+                return Character.isDigit(input) ? 2 : -1;
+            case 34:
+                return Character.isDigit(input) ? 16 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy156(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average157(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 7.0 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape158(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule159(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader160(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum161(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 60744L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 2) | (hash >>> 57);
+            hash *= 26;
+        }
+        return hash;
+    }
+
+    public String resolvePath162(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems163(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup164(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step165(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 33 : 0;
+            case 33:
+                if (input == '.') {
+                    return 10;
+                }
+                return Character.isDigit(input) ? 33 : -1;
+            case 10:
+                return Character.isDigit(input) ? 5 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy166(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average167(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 5.8 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape168(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule169(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader170(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(",");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum171(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 85442L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 2) | (hash >>> 54);
+            hash *= 10;
+        }
+        return hash;
+    }
+
+    public String resolvePath172(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems173(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup174(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step175(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 4 : 0;
+            case 4:
+                if (input == '.') {
+                    return 26;
+                }
+                return Character.isDigit(input) ? 4 : -1;
+            case 26:
+                return Character.isDigit(input) ? 32 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy176(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average177(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 7.0 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape178(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule179(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 2;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader180(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum181(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 58997L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 2) | (hash >>> 50);
+            hash *= 14;
+        }
+        return hash;
+    }
+
+    public String resolvePath182(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 256) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems183(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup184(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step185(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 16 : 0;
+            case 16:
+                if (input == '.') {
+                    return 1;
+                }
+                return Character.isDigit(input) ? 16 : -1;
+            case 1:
+                return Character.isDigit(input) ? 39 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy186(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average187(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 7.3 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape188(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule189(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 4;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader190(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum191(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 2509L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 2) | (hash >>> 54);
+            hash *= 6;
+        }
+        return hash;
+    }
+
+    public String resolvePath192(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 256) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems193(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup194(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step195(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 14 : 0;
+            case 14:
+                if (input == '.') {
+                    return 3;
+                }
+                return Character.isDigit(input) ? 14 : -1;
+            case 3:
+                return Character.isDigit(input) ? 31 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy196(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average197(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 3.4 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape198(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule199(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader200(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum201(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 55655L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 7) | (hash >>> 53);
+            hash *= 20;
+        }
+        return hash;
+    }
+
+    public String resolvePath202(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems203(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup204(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step205(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 39 : 0;
+            case 39:
+                if (input == '.') {
+                    return 5;
+                }
+                return Character.isDigit(input) ? 39 : -1;
+            case 5:
+                return Character.isDigit(input) ? 7 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy206(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average207(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 5.4 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape208(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule209(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 3;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader210(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(";");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum211(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 22403L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 6) | (hash >>> 50);
+            hash *= 27;
+        }
+        return hash;
+    }
+
+    public String resolvePath212(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 256) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems213(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup214(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step215(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 13 : 0;
+            case 13:
+                if (input == '.') {
+                    return 31;
+                }
+                return Character.isDigit(input) ? 13 : -1;
+            case 31:
+                return Character.isDigit(input) ? 2 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy216(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average217(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 8.1 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape218(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule219(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader220(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum221(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 62735L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 5) | (hash >>> 55);
+            hash *= 31;
+        }
+        return hash;
+    }
+
+    public String resolvePath222(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems223(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup224(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step225(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 37 : 0;
+            case 37:
+                if (input == '.') {
+                    return 9;
+                }
+                return Character.isDigit(input) ? 37 : -1;
+            case 9:
+                return Character.isDigit(input) ? 21 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy226(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average227(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 9.5 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape228(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule229(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 5;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader230(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum231(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 57282L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 2) | (hash >>> 51);
+            hash *= 17;
+        }
+        return hash;
+    }
+
+    public String resolvePath232(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems233(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup234(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step235(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 34 : 0;
+            case 34:
+                if (input == '.') {
+                    return 11;
+                }
+                return Character.isDigit(input) ? 34 : -1;
+            case 11:
+                return Character.isDigit(input) ? 14 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy236(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average237(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 5.9 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape238(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule239(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 4;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader240(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum241(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 40052L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 4) | (hash >>> 56);
+            hash *= 5;
+        }
+        return hash;
+    }
+
+    public String resolvePath242(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 256) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems243(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup244(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step245(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 25 : 0;
+            case 25:
+                if (input == '.') {
+                    return 7;
+                }
+                return Character.isDigit(input) ? 25 : -1;
+            case 7:
+                return Character.isDigit(input) ? 30 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy246(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average247(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 7.2 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape248(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule249(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader250(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(";");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum251(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 46253L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 7) | (hash >>> 59);
+            hash *= 10;
+        }
+        return hash;
+    }
+
+    public String resolvePath252(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems253(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup254(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step255(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 10 : 0;
+            case 10:
+                if (input == '.') {
+                    return 31;
+                }
+                return Character.isDigit(input) ? 10 : -1;
+            case 31:
+                return Character.isDigit(input) ? 29 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy256(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average257(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 5.6 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape258(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule259(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 3;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+}
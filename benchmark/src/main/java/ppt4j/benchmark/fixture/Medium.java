@@ -0,0 +1,716 @@
+package ppt4j.benchmark.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Generated benchmark fixture, do not edit by hand
+@SuppressWarnings("all")
+public class Medium {
+
+    public static final int MAX_LENGTH = 128;
+
+    public static final long LIMIT = 1L << 30;
+
+    private final Map<String, Object> cache = new HashMap<>();
+
+    private int counter;
+
+    private int misses;
+
+    public static class Item {
+        String name;
+        int weight;
+
+        public Item(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        public int score(int bonus) {
+            return weight * 31 + name.hashCode() + bonus;
+        }
+    }
+
+    public Map<String, String> parseHeader0(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(";");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum1(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 37914L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 1) | (hash >>> 56);
+            hash *= 27;
+        }
+        return hash;
+    }
+
+    public String resolvePath2(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems3(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup4(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step5(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 33 : 0;
+            case 33:
+                if (input == '.') {
+                    return 27;
+                }
+                return Character.isDigit(input) ? 33 : -1;
+            case 27:
+                return Character.isDigit(input) ? 38 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy6(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average7(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 3.3 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape8(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule9(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 4;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader10(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(";");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum11(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 19626L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 1) | (hash >>> 60);
+            hash *= 28;
+        }
+        return hash;
+    }
+
+    public String resolvePath12(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 256) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems13(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup14(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step15(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 16 : 0;
+            case 16:
+                if (input == '.') {
+                    return 22;
+                }
+                return Character.isDigit(input) ? 16 : -1;
+            case 22:
+                return Character.isDigit(input) ? 21 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy16(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average17(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 7.9 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape18(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule19(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 1;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader20(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(";");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum21(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 64234L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 5) | (hash >>> 51);
+            hash *= 19;
+        }
+        return hash;
+    }
+
+    public String resolvePath22(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems23(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup24(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step25(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 10 : 0;
+            case 10:
+                if (input == '.') {
+                    return 18;
+                }
+                return Character.isDigit(input) ? 10 : -1;
+            case 18:
+                return Character.isDigit(input) ? 30 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy26(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[1024];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average27(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 7.6 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape28(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule29(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 4;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+
+    public Map<String, String> parseHeader30(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split("&");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum31(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 69990L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 1) | (hash >>> 50);
+            hash *= 5;
+        }
+        return hash;
+    }
+
+    public String resolvePath32(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 1024) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems33(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+
+    public synchronized Object lookup34(String key, Object fallback) {
+        Object value = cache.get(key);
+        if (value instanceof String) {
+            String s = (String) value;
+            if (s.isEmpty()) {
+                return fallback;
+            }
+        } else if (value == null) {
+            value = fallback;
+            cache.put(key, value);
+            misses++;
+        }
+        return value;
+    }
+
+    public int step35(int state, char input) {
+        switch (state) {
+            case 0:
+                return Character.isDigit(input) ? 9 : 0;
+            case 9:
+                if (input == '.') {
+                    return 19;
+                }
+                return Character.isDigit(input) ? 9 : -1;
+            case 19:
+                return Character.isDigit(input) ? 28 : -1;
+            default:
+                return input == ' ' ? 0 : state;
+        }
+    }
+
+    public long copy36(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[4096];
+        long total = 0;
+        int n;
+        try {
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+                total += n;
+                if (total > LIMIT) {
+                    throw new IOException("Limit exceeded: " + LIMIT);
+                }
+            }
+        } finally {
+            out.flush();
+        }
+        return total;
+    }
+
+    public double average37(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double sum = 0.0;
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : values) {
+            sum += v;
+            if (v > max) {
+                max = v;
+            }
+        }
+        double avg = sum / values.length;
+        return max > avg * 6.3 ? avg : sum / (values.length + 1);
+    }
+
+    public String escape38(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < input.length(); k++) {
+            char ch = input.charAt(k);
+            if (ch == '<') {
+                sb.append("&lt;");
+            } else if (ch == '>') {
+                sb.append("&gt;");
+            } else if (ch == '&') {
+                sb.append("&amp;");
+            } else if (ch < 0x20) {
+                sb.append("&#").append((int) ch).append(';');
+            } else {
+                sb.append(ch);
+            }
+        }
+        return sb.toString();
+    }
+
+    public void schedule39(final List<Item> queue, final int rounds) {
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                for (int round = 0; round < rounds; round++) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    Item item = queue.remove(0);
+                    item.weight -= 4;
+                    if (item.weight > 0) {
+                        queue.add(item);
+                    }
+                }
+            }
+        };
+        task.run();
+    }
+}
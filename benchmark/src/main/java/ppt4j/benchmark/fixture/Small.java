@@ -0,0 +1,106 @@
+package ppt4j.benchmark.fixture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Generated benchmark fixture, do not edit by hand
+@SuppressWarnings("all")
+public class Small {
+
+    public static final int MAX_LENGTH = 128;
+
+    public static final long LIMIT = 1L << 30;
+
+    private final Map<String, Object> cache = new HashMap<>();
+
+    private int counter;
+
+    private int misses;
+
+    public static class Item {
+        String name;
+        int weight;
+
+        public Item(String name, int weight) {
+            this.name = name;
+            this.weight = weight;
+        }
+
+        public int score(int bonus) {
+            return weight * 31 + name.hashCode() + bonus;
+        }
+    }
+
+    public Map<String, String> parseHeader0(String line) {
+        Map<String, String> result = new HashMap<>();
+        if (line == null || line.isEmpty()) {
+            return result;
+        }
+        String[] parts = line.split(",");
+        for (String part : parts) {
+            int idx = part.indexOf('=');
+            if (idx <= 0) {
+                continue;
+            }
+            String key = part.substring(0, idx).trim().toLowerCase();
+            String value = part.substring(idx + 1).trim();
+            if (value.length() > MAX_LENGTH) {
+                value = value.substring(0, MAX_LENGTH);
+            }
+            result.put(key, value);
+        }
+        counter += result.size();
+        return result;
+    }
+
+    public long checksum1(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > data.length) {
+            throw new IllegalArgumentException("Invalid range: " + offset + ", " + length);
+        }
+        long hash = 44105L;
+        for (int k = offset; k < offset + length; k++) {
+            hash ^= data[k] & 0xff;
+            hash = (hash << 6) | (hash >>> 50);
+            hash *= 23;
+        }
+        return hash;
+    }
+
+    public String resolvePath2(String base, String child) throws IOException {
+        if (child.startsWith("/") || child.contains("..")) {
+            throw new IOException("Illegal path: " + child);
+        }
+        StringBuilder sb = new StringBuilder(base);
+        if (!base.endsWith("/")) {
+            sb.append('/');
+        }
+        sb.append(child);
+        String resolved = sb.toString();
+        if (resolved.length() > 4096) {
+            throw new IOException("Path too long");
+        }
+        return resolved;
+    }
+
+    public List<Item> sortItems3(List<Item> items, final boolean descending) {
+        List<Item> copy = new ArrayList<>(items);
+        Collections.sort(copy, new Comparator<Item>() {
+            @Override
+            public int compare(Item a, Item b) {
+                int c = Integer.compare(a.weight, b.weight);
+                if (c == 0) {
+                    c = a.name.compareTo(b.name);
+                }
+                return descending ? -c : c;
+            }
+        });
+        return copy;
+    }
+}
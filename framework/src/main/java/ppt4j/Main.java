@@ -1,8 +1,12 @@
 package ppt4j;
 
+import ppt4j.analysis.patch.BatchAnalyzer;
 import ppt4j.analysis.patch.PatchAnalyzer;
+import ppt4j.annotation.Property;
+import ppt4j.database.DatabaseType;
 import ppt4j.database.Vulnerability;
 import ppt4j.factory.DatabaseFactory;
+import ppt4j.server.AnalysisServer;
 import ppt4j.util.ExecDriver;
 import ppt4j.util.PropertyUtils;
 import ppt4j.util.ResourceUtils;
@@ -12,16 +16,25 @@ import org.apache.commons.cli.*;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 public final class Main {
 
     private static final String VM_OPTIONS =
             "-javaagent:lib/aspectjweaver-1.9.19.jar " +
-            "-Xss2m -XX:CompilerThreadStackSize=2048 -XX:VMThreadStackSize=2048 " +
             "--add-opens java.base/java.lang=ALL-UNNAMED " +
             "--add-opens java.base/java.lang.reflect=ALL-UNNAMED";
 
+    @Property("ppt4j.analysis.batch.workers")
+    private static int BATCH_WORKERS;
+
+    @Property("ppt4j.exec.pool.size")
+    private static int EXEC_POOL_SIZE;
+
     private static final Options options = new Options();
     private static final HelpFormatter formatter = new HelpFormatter();
     private static final String cmdLineSyntax =
@@ -30,7 +43,9 @@ public final class Main {
 
     @AllArgsConstructor
     public enum Command {
-        ANALYZE("analyze");
+        ANALYZE("analyze"),
+        ANALYZE_BATCH("analyze-batch"),
+        SERVE("serve");
 
         public final String name;
     }
@@ -40,6 +55,10 @@ public final class Main {
                 """
                 Commands:
                  analyze <db-id> <gt-type>  Analyze a binary for a vulnerability in the dataset
+                 analyze-batch <gt-type|all> <db-ids>
+                                            Analyze many vulnerabilities in one VM,
+                                            e.g. analyze-batch all 1-10,15
+                 serve [<port>]             Start a resident analysis server on the loopback interface
 
                 Options:
                 """;
@@ -90,12 +109,12 @@ public final class Main {
         String command = args[0];
         String[] commandArgs = Arrays.copyOfRange(args, 1, args.length);
         Command commandType = StringUtils.matchPrefix(command);
-        //noinspection SwitchStatementWithTooFewBranches
         switch (commandType) {
             case ANALYZE -> {
                 int id = Integer.parseInt(commandArgs[0]);
                 Vulnerability vuln = DatabaseFactory.getByDatabaseId(id);
-                ExecDriver exec = ExecDriver.getInstance();
+                // a pool would not outlive this single job
+                ExecDriver exec = ExecDriver.getForkingInstance();
                 String cmd = String.format("java %s -cp %s %s %s",
                         VM_OPTIONS,
                         StringUtils.getClassPathToLoad(vuln),
@@ -103,11 +122,94 @@ public final class Main {
                         String.join(" ", commandArgs));
                 exec.execute(cmd);
             }
+            case ANALYZE_BATCH -> {
+                if(commandArgs.length < 2) {
+                    formatter.printHelp(cmdLineSyntax(), options);
+                    System.exit(1);
+                }
+                List<DatabaseType> types = BatchAnalyzer.parseTypes(commandArgs[0]);
+                List<Vulnerability> vulns = new ArrayList<>();
+                for (int i = 1; i < commandArgs.length; i++) {
+                    for (Integer id : StringUtils.parseDatabaseIds(commandArgs[i])) {
+                        vulns.add(DatabaseFactory.getByDatabaseId(id));
+                    }
+                }
+                if(EXEC_POOL_SIZE > 0) {
+                    // one isolated job per analysis, run on pooled worker VMs
+                    List<BatchAnalyzer.Task> tasks = new ArrayList<>();
+                    List<ExecDriver> jobs = new ArrayList<>();
+                    for (Vulnerability vuln : vulns) {
+                        for (DatabaseType type : types) {
+                            ExecDriver exec = ExecDriver.getPooledInstance();
+                            exec.dispatch(String.format("java %s -cp %s %s %d %s",
+                                    VM_OPTIONS,
+                                    StringUtils.getClassPathToLoad(vuln),
+                                    PatchAnalyzer.class.getName(),
+                                    vuln.getDatabaseId(), type));
+                            tasks.add(new BatchAnalyzer.Task(vuln.getDatabaseId(), type));
+                            jobs.add(exec);
+                        }
+                    }
+                    List<BatchAnalyzer.Outcome> outcomes = new ArrayList<>();
+                    for (int i = 0; i < jobs.size(); i++) {
+                        outcomes.add(toOutcome(tasks.get(i), jobs.get(i)));
+                    }
+                    System.exit(BatchAnalyzer.report(outcomes) == 0 ? 0 : 1);
+                } else {
+                    // every analysis loads its target classes through its own
+                    // class path (see ExtractorFactory.getClassLoader), one
+                    // shared VM class path would let them shadow each other
+                    ExecDriver exec = ExecDriver.getInstance();
+                    String cmd = String.format("java %s -cp %s %s %d %s",
+                            VM_OPTIONS,
+                            StringUtils.getClassPathToLoad(List.of()),
+                            BatchAnalyzer.class.getName(),
+                            BATCH_WORKERS,
+                            String.join(" ", commandArgs));
+                    exec.execute(cmd);
+                }
+            }
+            case SERVE -> {
+                // the server runs until stopped, it would hold a pooled worker for good
+                ExecDriver exec = ExecDriver.getForkingInstance();
+                String cmd = String.format("java %s -cp %s %s %s",
+                        VM_OPTIONS,
+                        StringUtils.getClassPathToLoad(List.of()),
+                        AnalysisServer.class.getName(),
+                        String.join(" ", commandArgs));
+                exec.execute(cmd);
+            }
             default -> throw new IllegalStateException("Unimplemented command: " + command);
         }
         System.exit(0);
     }
 
+    // A pooled job answers with the verdict of PatchAnalyzer.run
+    private static BatchAnalyzer.Outcome toOutcome(BatchAnalyzer.Task task, ExecDriver job) {
+        int exit = job.join();
+        Map<String, Object> response = job.getResult();
+        long elapsed = 0;
+        Object result = null, error = null;
+        if(response != null) {
+            elapsed = response.get("elapsed_ms") instanceof Number n ? n.longValue() : 0;
+            result = response.get("result");
+            error = response.get("error");
+        }
+        if(exit != 0 || !(result instanceof Map<?, ?> verdict)) {
+            return new BatchAnalyzer.Outcome(task, null, null, null, new IllegalStateException(
+                    error != null ? error.toString() : "Exit value " + exit), elapsed);
+        }
+        Object ratio = verdict.get("ratio");
+        Map<String, Long> innerFailures = new TreeMap<>();
+        if(verdict.get("inner_failures") instanceof Map<?, ?> failures) {
+            failures.forEach((type, count) -> innerFailures.put(
+                    type.toString(), ((Number) count).longValue()));
+        }
+        return new BatchAnalyzer.Outcome(task, (Boolean) verdict.get("present"),
+                ratio instanceof Number n ? n.doubleValue() : Double.NaN,
+                innerFailures, null, elapsed);
+    }
+
     public static void main(String[] args) {
         String[] leftArgs = init(args);
         PropertyUtils.init();
@@ -24,17 +24,32 @@ public class ArgTypeAnalysis implements AbstractAnalysis {
 
     private final MethodNode methodNode;
 
+    // resolves the types of the analyzed class path, null for the loader of this class
+    private final ClassLoader classLoader;
+
     public ArgTypeAnalysis(String className,
                            MethodNode methodNode,
                            Map<MethodInsnNode, String> methodDescMap) {
+        this(className, methodNode, methodDescMap, null);
+    }
+
+    public ArgTypeAnalysis(String className,
+                           MethodNode methodNode,
+                           Map<MethodInsnNode, String> methodDescMap,
+                           ClassLoader classLoader) {
         this.className = className;
         this.methodNode = methodNode;
         this.methodDescMap = methodDescMap;
+        this.classLoader = classLoader;
     }
 
     @Override
     public ArgTypeAnalysis analyze() {
-        Analyzer<BasicValue> analyzer = new Analyzer<>(new SimpleVerifier());
+        SimpleVerifier verifier = new SimpleVerifier();
+        if(classLoader != null) {
+            verifier.setClassLoader(classLoader);
+        }
+        Analyzer<BasicValue> analyzer = new Analyzer<>(verifier);
         try {
             analyzer.analyze(className, methodNode);
             Frame<BasicValue>[] frames = analyzer.getFrames();
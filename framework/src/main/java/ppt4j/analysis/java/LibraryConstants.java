@@ -7,6 +7,7 @@ import spoon.reflect.declaration.CtClass;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Log4j
 public class LibraryConstants {
@@ -14,18 +15,60 @@ public class LibraryConstants {
     @Property("ppt4j.features.constprop_classes")
     private static Class<?>[] classes;
 
-    private static final Map<String, Object> map = new HashMap<>();
+    private static final Map<String, Object> map = new ConcurrentHashMap<>();
 
-    private static final Set<CtClass<?>> cachedClasses = new HashSet<>();
+    private static final Set<CtClass<?>> cachedClasses = ConcurrentHashMap.newKeySet();
+
+    // The constants of one analysis, which are kept apart from those of
+    // others running in the same VM. Classes are loaded through the class
+    // path of the analysis, the constprop_classes are shared by all scopes
+    public static final class Scope {
+        private final Map<String, Object> map = new ConcurrentHashMap<>();
+        private final Set<CtClass<?>> cachedClasses = ConcurrentHashMap.newKeySet();
+        private final ClassLoader classLoader;
+
+        public Scope(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+    }
+
+    // scope of the calling thread, see enter
+    private static final ThreadLocal<Scope> scope = new ThreadLocal<>();
+
+    // lookups of the calling thread, see startRecording
+    private static final ThreadLocal<Recording> recording = new ThreadLocal<>();
+
+    private static final class Recording {
+        // key -> value at lookup, null if absent
+        final Map<String, Object> lookups = new HashMap<>();
+        // keys put by the recording thread itself
+        final Set<String> defined = new HashSet<>();
+    }
 
     public static void init() {
         if (classes == null) {
             throw new RuntimeException("PropertyUtils not initialized correctly");
         }
-        Arrays.stream(classes).forEach(LibraryConstants::put);
+        Arrays.stream(classes).forEach(clazz -> put(clazz, map));
     }
 
-    private static void put(Class<?> clazz) {
+    // Puts and gets of the calling thread go to s until exit is called with
+    // the returned scope, null if there was none
+    public static Scope enter(Scope s) {
+        Scope outer = scope.get();
+        scope.set(s);
+        return outer;
+    }
+
+    public static void exit(Scope outer) {
+        if (outer == null) {
+            scope.remove();
+        } else {
+            scope.set(outer);
+        }
+    }
+
+    private static void put(Class<?> clazz, Map<String, Object> map) {
         try {
             Field[] fields = clazz.getDeclaredFields();
             for (Field field: fields) {
@@ -37,7 +80,7 @@ public class LibraryConstants {
                     int mod = field.getModifiers();
                     if (Modifier.isPublic(mod) && Modifier.isStatic(mod) && Modifier.isFinal(mod)) {
                         field.setAccessible(true);
-                        put(String.format("%s#%s", clazz.getName(), field.getName()), field.get(null));
+                        putValue(map, String.format("%s#%s", clazz.getName(), field.getName()), field.get(null));
                     }
                 }
             }
@@ -47,25 +90,77 @@ public class LibraryConstants {
     }
 
     public static void put(String key, Object value) {
+        Recording r = recording.get();
+        if (r != null) {
+            r.defined.add(key);
+        }
+        Scope s = scope.get();
+        putValue(s == null ? map : s.map, key, value);
+    }
+
+    private static void putValue(Map<String, Object> map, String key, Object value) {
+        if (value == null) {
+            map.remove(key);
+            return;
+        }
         map.put(key, value);
     }
 
     public static Object get(CtClass<?> clazz, String key) {
-        if (clazz == null || cachedClasses.contains(clazz)) {
-            return get(key);
+        Scope s = scope.get();
+        Set<CtClass<?>> cached = s == null ? cachedClasses : s.cachedClasses;
+        if (clazz == null || cached.contains(clazz)) {
+            return record(key, get(key));
         }
         try {
-            put(clazz.getActualClass());
-        } catch (NoClassDefFoundError e) {
+            if (s == null) {
+                put(clazz.getActualClass(), map);
+            } else {
+                put(Class.forName(clazz.getQualifiedName(), true, s.classLoader), s.map);
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
             log.warn(e);
             log.warn("This might affect constant analysis");
         }
-        cachedClasses.add(clazz);
-        return get(key);
+        cached.add(clazz);
+        return record(key, get(key));
     }
 
     public static Object get(String key) {
-        return map.get(key);
+        Scope s = scope.get();
+        Object value = s == null ? null : s.map.get(key);
+        return value != null ? value : map.get(key);
+    }
+
+    // Records the constants the calling thread looks up until stopRecording,
+    // except those it has put itself. A parse depends on the values recorded
+    public static void startRecording() {
+        recording.set(new Recording());
+    }
+
+    public static Map<String, Object> stopRecording() {
+        Recording r = recording.get();
+        recording.remove();
+        return r == null ? new HashMap<>() : r.lookups;
+    }
+
+    // True if every recorded key has the same value now. Classes are not
+    // loaded for the check, a constant of one not loaded yet is a mismatch
+    public static boolean matches(Map<String, Object> lookups) {
+        for (Map.Entry<String, Object> entry : lookups.entrySet()) {
+            if (!Objects.equals(entry.getValue(), get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Object record(String key, Object value) {
+        Recording r = recording.get();
+        if (r != null && !r.defined.contains(key)) {
+            r.lookups.putIfAbsent(key, value);
+        }
+        return value;
     }
 
 }
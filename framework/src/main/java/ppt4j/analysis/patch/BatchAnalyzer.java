@@ -0,0 +1,186 @@
+package ppt4j.analysis.patch;
+
+import ppt4j.annotation.MethodProfiler;
+import ppt4j.annotation.Property;
+import ppt4j.database.DatabaseType;
+import ppt4j.database.Vulnerability;
+import ppt4j.factory.DatabaseFactory;
+import ppt4j.factory.ExtractorFactory;
+import ppt4j.util.StringUtils;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+@Log4j
+public final class BatchAnalyzer {
+
+    @Property("ppt4j.analysis.batch.workers")
+    private static int WORKERS;
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Task {
+        private final int databaseId;
+        private final DatabaseType type;
+
+        @Override
+        public String toString() {
+            return databaseId + " " + type;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Outcome {
+        private final Task task;
+        private final Boolean present;
+        private final Double ratio;
+        private final Map<String, Long> innerFailures;
+        private final Throwable error;
+        private final long elapsedMillis;
+
+        public boolean isFailed() {
+            return error != null;
+        }
+    }
+
+    private final List<Task> tasks = new ArrayList<>();
+
+    private final int workers;
+
+    public BatchAnalyzer(int workers) {
+        if(workers <= 0) {
+            throw new IllegalArgumentException("Invalid number of workers: " + workers);
+        }
+        this.workers = workers;
+    }
+
+    public BatchAnalyzer() {
+        this(WORKERS);
+    }
+
+    @SuppressWarnings("UnusedReturnValue")
+    public BatchAnalyzer add(int databaseId, DatabaseType type) {
+        tasks.add(new Task(databaseId, type));
+        return this;
+    }
+
+    @SuppressWarnings("UnusedReturnValue")
+    public BatchAnalyzer addAll(Collection<Integer> databaseIds,
+                                Collection<DatabaseType> types) {
+        for (Integer id : databaseIds) {
+            for (DatabaseType type : types) {
+                add(id, type);
+            }
+        }
+        return this;
+    }
+
+    @MethodProfiler
+    public List<Outcome> analyze() {
+        // Vulnerabilities are loaded up front so that the factory
+        // caches are only touched by the calling thread
+        Map<Integer, Vulnerability> vulns = new HashMap<>();
+        Map<Integer, Throwable> loadErrors = new HashMap<>();
+        for (Task task : tasks) {
+            int id = task.getDatabaseId();
+            if(vulns.containsKey(id) || loadErrors.containsKey(id)) {
+                continue;
+            }
+            try {
+                vulns.put(id, DatabaseFactory.getByDatabaseId(id));
+            } catch (RuntimeException e) {
+                loadErrors.put(id, e);
+            }
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(
+                Math.min(workers, Math.max(tasks.size(), 1)));
+        List<Future<Outcome>> futures = new ArrayList<>();
+        for (Task task : tasks) {
+            Vulnerability vuln = vulns.get(task.getDatabaseId());
+            Throwable loadError = loadErrors.get(task.getDatabaseId());
+            futures.add(pool.submit(() -> run(task, vuln, loadError)));
+        }
+        pool.shutdown();
+        List<Outcome> outcomes = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                outcomes.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pool.shutdownNow();
+                outcomes.add(new Outcome(tasks.get(i), null, null, null, e, 0));
+            } catch (ExecutionException e) {
+                outcomes.add(new Outcome(tasks.get(i), null, null, null, e.getCause(), 0));
+            }
+        }
+        return outcomes;
+    }
+
+    private static Outcome run(Task task, Vulnerability vuln, Throwable loadError) {
+        if(loadError != null) {
+            log.error("Task " + task + " failed: " + loadError);
+            return new Outcome(task, null, null, null, loadError, 0);
+        }
+        long start = System.currentTimeMillis();
+        try (ExtractorFactory factory = ExtractorFactory.get(vuln, task.getType())) {
+            PatchAnalyzer analyzer = new PatchAnalyzer(vuln, factory);
+            boolean present = analyzer.analyze();
+            return new Outcome(task, present, analyzer.getRatio(),
+                    analyzer.getInnerFailures(), null, System.currentTimeMillis() - start);
+        } catch (Throwable e) {
+            log.error("Task " + task + " failed: " + e);
+            return new Outcome(task, null, null, null, e,
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    public static List<DatabaseType> parseTypes(String type) {
+        if(type.equalsIgnoreCase("all")) {
+            return List.of(DatabaseType.values());
+        }
+        return List.of(DatabaseType.valueOf(type.toUpperCase()));
+    }
+
+    public static void main(String[] args) {
+        if(args.length < 3) {
+            log.error("Usage: BatchAnalyzer.main <workers> <PREPATCH | POSTPATCH | ALL> <ids, e.g. 1-10,15>");
+            System.exit(1);
+        }
+        int workers = Integer.parseInt(args[0]);
+        List<DatabaseType> types = parseTypes(args[1]);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            ids.addAll(StringUtils.parseDatabaseIds(args[i]));
+        }
+        List<Outcome> outcomes = new BatchAnalyzer(workers)
+                .addAll(ids, types)
+                .analyze();
+        System.exit(report(outcomes) == 0 ? 0 : 1);
+    }
+
+    // Logs one line per outcome and a summary, returns the number of failures
+    public static int report(List<Outcome> outcomes) {
+        int failed = 0;
+        for (Outcome outcome : outcomes) {
+            if(outcome.isFailed()) {
+                failed++;
+                log.info(String.format("Batch: %s failed (%s)",
+                        outcome.getTask(), outcome.getError()));
+            } else {
+                log.info(String.format("Batch: %s patch is %spresent " +
+                                "(ratio %.3f, %d ms, inner class failures %s)",
+                        outcome.getTask(), outcome.getPresent() ? "" : "not ",
+                        outcome.getRatio(), outcome.getElapsedMillis(),
+                        outcome.getInnerFailures()));
+            }
+        }
+        log.info(String.format("Batch finished: %d tasks, %d failed",
+                outcomes.size(), failed));
+        return failed;
+    }
+
+}
@@ -0,0 +1,76 @@
+package ppt4j.analysis.patch;
+
+import ppt4j.feature.FeatureDictionary;
+import ppt4j.feature.Features;
+
+import java.util.*;
+
+// An inverted index from the features of bytecode line clusters to the
+// clusters containing them. For a source line it counts the features shared
+// with each cluster, so clusters sharing nothing are never compared.
+final class CandidateIndex {
+
+    // the columns and the looked up lines are encoded with it
+    private final FeatureDictionary dictionary = FeatureDictionary.current();
+
+    // sorted feature ids (see Features.getEncoded) of all columns
+    private final int[] ids;
+
+    // ascending columns holding each feature of ids
+    private final int[][] postings;
+
+    private final int[] sizes;
+
+    // shared feature counts of the source line being looked up
+    private final int[] shared;
+
+    CandidateIndex(Features[] columns) {
+        sizes = new int[columns.length];
+        shared = new int[columns.length];
+        Map<Integer, List<Integer>> lists = new TreeMap<>();
+        for (int c = 0; c < columns.length; c++) {
+            int[] encoded = columns[c].getEncoded(dictionary);
+            for (int id : encoded) {
+                lists.computeIfAbsent(id, k -> new ArrayList<>()).add(c);
+            }
+            sizes[c] = encoded.length;
+        }
+        ids = new int[lists.size()];
+        postings = new int[lists.size()][];
+        int n = 0;
+        for (Map.Entry<Integer, List<Integer>> entry : lists.entrySet()) {
+            ids[n] = entry.getKey();
+            postings[n++] = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    // Number of features of a column
+    int size(int column) {
+        return sizes[column];
+    }
+
+    // Stores the columns sharing at least one feature with f in ascending
+    // order into columns, and the number of shared features into counts.
+    // Both must hold all columns. Returns the number of such columns.
+    int lookup(Features f, int[] columns, int[] counts) {
+        int n = 0;
+        for (int id : f.getEncoded(dictionary)) {
+            int k = Arrays.binarySearch(ids, id);
+            if(k < 0) {
+                continue;
+            }
+            for (int c : postings[k]) {
+                if(shared[c]++ == 0) {
+                    columns[n++] = c;
+                }
+            }
+        }
+        Arrays.sort(columns, 0, n);
+        for (int i = 0; i < n; i++) {
+            counts[i] = shared[columns[i]];
+            shared[columns[i]] = 0;
+        }
+        return n;
+    }
+
+}
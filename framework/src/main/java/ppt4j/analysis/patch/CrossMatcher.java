@@ -6,6 +6,8 @@ import ppt4j.feature.bytecode.BytecodeExtractor;
 import ppt4j.feature.java.JavaExtractor;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.util.Map;
+
 import static ppt4j.feature.Features.SourceType;
 
 @SuppressWarnings("unused")
@@ -23,8 +25,15 @@ public interface CrossMatcher {
 
     Features query(int index);
 
+    // Inner classes (at any depth) this matcher failed to align so far,
+    // by exception type
+    Map<String, Long> getInnerFailures();
+
     static CrossMatcher get(JavaExtractor k, Extractor v, boolean diffType) {
         if (v.getSourceType() == SourceType.BYTECODE) {
+            if (LazyJ2BCMatcher.isEnabled()) {
+                return new LazyJ2BCMatcher(k, (BytecodeExtractor) v, diffType);
+            }
             return new J2BCMatcher(k, (BytecodeExtractor) v, diffType);
         } else {
             throw new IllegalArgumentException("Invalid source types");
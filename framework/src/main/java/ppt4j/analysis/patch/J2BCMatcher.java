@@ -2,16 +2,22 @@ package ppt4j.analysis.patch;
 
 import ppt4j.annotation.Property;
 import ppt4j.feature.FeatureMatcher;
+import ppt4j.feature.FeatureWindow;
 import ppt4j.feature.Features;
 import ppt4j.feature.bytecode.BytecodeExtractor;
 import ppt4j.feature.bytecode.BytecodeFeatures;
 import ppt4j.feature.java.JavaExtractor;
 import lombok.Getter;
+import lombok.extern.log4j.Log4j;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntPredicate;
 import java.util.stream.IntStream;
 
+@Log4j
 final class J2BCMatcher implements CrossMatcher {
 
     @Property("ppt4j.features.similarity.threshold")
@@ -23,10 +29,25 @@ final class J2BCMatcher implements CrossMatcher {
     @Property("ppt4j.analysis.matcher.max_window_size")
     private static int MAX_WINDOW_SIZE;
 
+    @Property("ppt4j.analysis.matcher.anchored")
+    private static boolean ANCHORED;
+
+    @Property("ppt4j.analysis.matcher.partitioned")
+    private static boolean PARTITIONED;
+
     private final JavaExtractor e1;
 
     private final BytecodeExtractor e2;
 
+    // the aligned bytecode clusters by index
+    private final Map<Integer, Features> bcMap;
+
+    private Map<String, Set<Integer>> methods;
+
+    // of the inner classes merged into this matcher, see innerFailed
+    private final Map<String, LongAdder>
+            innerFailures = new ConcurrentHashMap<>();
+
     @Getter
     private final Map<Integer, Features>
             featuresMap = new TreeMap<>();
@@ -34,6 +55,16 @@ final class J2BCMatcher implements CrossMatcher {
     private final Map<Integer, Pair<Integer, Integer>>
             matchedRanges = new TreeMap<>();
 
+    // source lines (>= 1) and bytecode indices that have features, ascending.
+    // The alignment works on their positions in these arrays
+    private final int[] lines;
+
+    private final Features[] lineFeatures;
+
+    private final int[] bcIndices;
+
+    private final Features[] bcFeatures;
+
     private final int maxLine;
 
     private final int maxBcIndex;
@@ -44,24 +75,40 @@ final class J2BCMatcher implements CrossMatcher {
     @Getter
     private final double[] score;
 
-    private final int[][] lcs;
-
     J2BCMatcher(JavaExtractor e1, BytecodeExtractor e2, boolean diffType) {
+        this(e1, e2, diffType, line -> true, line -> true, null, true);
+    }
+
+    // Aligns the source lines accepted by srcLines with the bytecode clusters
+    // whose source line is accepted by bcLines, and the inner classes if withInner.
+    // methods are the paired methods to partition by, null to pair them here
+    J2BCMatcher(JavaExtractor e1, BytecodeExtractor e2, boolean diffType,
+                IntPredicate srcLines, IntPredicate bcLines,
+                Map<String, Set<Integer>> methods, boolean withInner) {
         this.e1 = e1;
         this.e2 = e2;
-        Set<Integer> lineSet = e1.getFeaturesMap().keySet();
-        maxLine = e1.getFeaturesMap().isEmpty() ? 0 : Collections.max(lineSet);
-        Set<Integer> bcLineSet = e2.getFeaturesMap().keySet();
-        maxBcIndex = e2.getFeaturesMap().isEmpty() ? 0 : Collections.max(bcLineSet);
-        lcs = new int[maxLine + 10][maxBcIndex + 10];
-        for (int i = 0; i < maxLine + 10; i++) {
-            for (int j = 0; j < maxBcIndex + 10; j++) {
-                lcs[i][j] = -1;
+        this.methods = methods;
+        Map<Integer, Features> fm1 = new TreeMap<>();
+        e1.getFeaturesMap().forEach((line, f) -> {
+            if(line >= 1 && srcLines.test(line)) {
+                fm1.put(line, f);
             }
-        }
+        });
+        bcMap = new TreeMap<>();
+        e2.getFeaturesMap().forEach((idx, f) -> {
+            if(bcLines.test(f.getLineNo())) {
+                bcMap.put(idx, f);
+            }
+        });
+        lines = fm1.keySet().stream().mapToInt(Integer::intValue).toArray();
+        lineFeatures = fm1.values().toArray(new Features[0]);
+        bcIndices = bcMap.keySet().stream().mapToInt(Integer::intValue).toArray();
+        bcFeatures = bcMap.values().toArray(new Features[0]);
+        maxLine = lines.length == 0 ? 0 : lines[lines.length - 1];
+        maxBcIndex = bcIndices.length == 0 ? 0 : bcIndices[bcIndices.length - 1];
         srcMatched = new boolean[maxLine + 10];
         score = new double[maxLine + 10];
-        LCSMatch(diffType);
+        LCSMatch(diffType, withInner);
     }
 
     @Override
@@ -108,90 +155,336 @@ final class J2BCMatcher implements CrossMatcher {
         }
     }
 
-    private double score(int i, int j) {
-        if(!e1.getFeaturesMap().containsKey(i)) {
-            return -1;
+    // Lines and indices without features never match and the traceback
+    // only steps over them, so aligning the dense arrays gives the same result
+    private void LCSMatch(boolean diffAddition, boolean withInner) {
+        int[][] matchCols = new int[lines.length + 1][];
+        double[][] matchScores = new double[lines.length + 1][];
+        computeMatches(matchCols, matchScores);
+        int[] matched = PARTITIONED ?
+                alignPartitioned(matchCols, matchScores, diffAddition) :
+                align(lines.length, bcFeatures.length, matchCols, matchScores, diffAddition);
+        for (int r = 0; r < lines.length; r++) {
+            if(matched[r + 1] > 0) {
+                int c = matched[r + 1] - 1;
+                int k = Arrays.binarySearch(matchCols[r + 1], c + 1);
+                srcMatched[lines[r]] = true;
+                score[lines[r]] = matchScores[r + 1][k];
+                matchedRanges.put(lines[r], Pair.of(bcIndices[c], bcIndices[c]));
+            }
         }
-        if(!e2.getFeaturesMap().containsKey(j)) {
-            return -1;
+        List<Integer> notMatchedSrc = new ArrayList<>();
+        TreeSet<Integer> matchedRows = new TreeSet<>();
+        for (int r = 0; r < lines.length; r++) {
+            if(!srcMatched[lines[r]]) {
+                notMatchedSrc.add(r);
+            } else {
+                matchedRows.add(r);
+            }
+        }
+        notMatchedSrc.forEach(r -> secondRoundMatch(r, matchedRows));
+        if(!withInner) {
+            return;
+        }
+        // aligned concurrently, merged in the order of getInnerClass
+        List<JavaExtractor> inners = new ArrayList<>(e1.getInnerClass());
+        J2BCMatcher[] matchers = new J2BCMatcher[inners.size()];
+        IntStream.range(0, inners.size()).parallel().forEach(i -> {
+            String name = inners.get(i).getClassName();
+            BytecodeExtractor bcInner = e2.getInnerClass(name);
+            try {
+                if(bcInner != null) {
+                    matchers[i] = new J2BCMatcher(inners.get(i), bcInner, true);
+                }
+            } catch (Exception e) {
+                innerFailed(name, e);
+            }
+        });
+        for (int i = 0; i < matchers.length; i++) {
+            try {
+                if(matchers[i] != null) {
+                    merge(matchers[i]);
+                }
+            } catch (Exception e) {
+                innerFailed(inners.get(i).getClassName(), e);
+            }
         }
-        Features f1 = e1.getFeaturesMap().get(i);
-        Features f2 = e2.getFeaturesMap().get(j);
-        return FeatureMatcher.get(SIM_ALGORITHM).match(f1, f2);
     }
 
+    // An inner class that can't be aligned is left unmatched,
+    // the failures are counted by exception type
+    private void innerFailed(String className, Exception e) {
+        innerFailed(innerFailures, className, e);
+    }
+
+    static void innerFailed(Map<String, LongAdder> failures, String className, Exception e) {
+        failures.computeIfAbsent(e.getClass().getSimpleName(),
+                k -> new LongAdder()).increment();
+        log.debug("Failed to align inner class " + className + ": " + e);
+    }
 
-    private boolean matches(int i, int j) {
-        return score(i, j) >= SIM_THRESHOLD;
+    @Override
+    public Map<String, Long> getInnerFailures() {
+        Map<String, Long> failures = new TreeMap<>();
+        innerFailures.forEach((type, count) -> failures.put(type, count.sum()));
+        return failures;
     }
 
-    // j has been added 1 before calling this method
-    private int getLCSLength(int i, int j) {
-        if(i == 0 || j == 0) {
-            return 0;
+    // The matching columns of every row and their scores. Under Jaccard a
+    // pair sharing no feature scores 0 (1 if both are empty), and no pair can
+    // exceed shared / (|A| + |B| - shared), so only the clusters an inverted
+    // index finds within reach of the threshold are actually scored. Other
+    // matchers score every column.
+    private void computeMatches(int[][] matchCols, double[][] matchScores) {
+        FeatureMatcher featureMatcher = FeatureMatcher.get(SIM_ALGORITHM);
+        boolean prune = featureMatcher.isBoundedByShared() && SIM_THRESHOLD > 0;
+        CandidateIndex index = prune ? new CandidateIndex(bcFeatures) : null;
+        int[] candidates = new int[bcFeatures.length];
+        int[] shared = new int[bcFeatures.length];
+        int[] cols = new int[bcFeatures.length];
+        double[] scores = new double[bcFeatures.length];
+        for (int r = 0; r < lines.length; r++) {
+            Features f = lineFeatures[r];
+            int size = f.size();
+            int n = 0;
+            if(size == 0 || !prune) {
+                for (int c = 0; c < bcFeatures.length; c++) {
+                    double sim = featureMatcher.match(f, bcFeatures[c]);
+                    if(sim >= SIM_THRESHOLD) {
+                        cols[n] = c + 1;
+                        scores[n++] = sim;
+                    }
+                }
+            } else {
+                int m = index.lookup(f, candidates, shared);
+                for (int k = 0; k < m; k++) {
+                    int c = candidates[k];
+                    int bound = size + index.size(c) - shared[k];
+                    if((double) shared[k] / (double) bound < SIM_THRESHOLD) {
+                        continue;
+                    }
+                    double sim = featureMatcher.match(f, bcFeatures[c]);
+                    if(sim >= SIM_THRESHOLD) {
+                        cols[n] = c + 1;
+                        scores[n++] = sim;
+                    }
+                }
+            }
+            if(n > 0) {
+                matchCols[r + 1] = Arrays.copyOf(cols, n);
+                matchScores[r + 1] = Arrays.copyOf(scores, n);
+            }
         }
-        if(lcs[i][j] != -1) {
-            return lcs[i][j];
+    }
+
+    private static int[] align(int rows, int cols, int[][] matchCols,
+                               double[][] matchScores, boolean diffAddition) {
+        return ANCHORED ?
+                alignAnchored(rows, cols, matchCols, matchScores, diffAddition) :
+                new LCSAligner(rows, cols, matchCols, diffAddition).align();
+    }
+
+    // Every method (see MethodPairing) is aligned with the bytecode clusters of
+    // its counterpart on its own, so statements never match across methods
+    // and reordered methods still match. Lines outside paired methods and
+    // clusters of no or several paired methods are aligned with each other.
+    private int[] alignPartitioned(int[][] matchCols, double[][] matchScores,
+                                   boolean diffAddition) {
+        List<String> methodKeys = new ArrayList<>();
+        List<Set<Integer>> methodBcLines = new ArrayList<>();
+        if(methods == null) {
+            methods = MethodPairing.pair(e1, e2);
         }
-        if(matches(i, j - 1)) {
-            lcs[i][j] = getLCSLength(i - 1, j - 1) + 1;
-        } else {
-            lcs[i][j] = Math.max(getLCSLength(i - 1, j), getLCSLength(i, j - 1));
+        methods.forEach((method, bcLines) -> {
+            methodKeys.add(method);
+            methodBcLines.add(bcLines);
+        });
+        // the last partition holds the rest
+        int parts = methodKeys.size() + 1;
+        int[] rowPart = new int[lines.length], colPart = new int[bcFeatures.length];
+        int[] span = new int[lines.length];
+        Arrays.fill(rowPart, parts - 1);
+        Arrays.fill(span, Integer.MAX_VALUE);
+        for (int p = 0; p < methodKeys.size(); p++) {
+            int[] range = e1.getMethodRanges().get(methodKeys.get(p));
+            for (int r = 0; r < lines.length; r++) {
+                if(range[0] <= lines[r] && lines[r] <= range[1] && range[1] - range[0] < span[r]) {
+                    rowPart[r] = p;
+                    span[r] = range[1] - range[0];
+                }
+            }
         }
-        return lcs[i][j];
+        for (int c = 0; c < bcFeatures.length; c++) {
+            int line = bcFeatures[c].getLineNo(), owner = -1;
+            for (int p = 0; p < methodKeys.size(); p++) {
+                if(methodBcLines.get(p).contains(line)) {
+                    owner = owner == -1 ? p : parts - 1;
+                }
+            }
+            colPart[c] = owner == -1 ? parts - 1 : owner;
+        }
+        // position of every row and column within its partition, 1-based
+        int[] rowCount = new int[parts], colCount = new int[parts];
+        int[] rowPos = new int[lines.length], colPos = new int[bcFeatures.length];
+        for (int r = 0; r < lines.length; r++) {
+            rowPos[r] = ++rowCount[rowPart[r]];
+        }
+        for (int c = 0; c < bcFeatures.length; c++) {
+            colPos[c] = ++colCount[colPart[c]];
+        }
+        int[][] partRows = new int[parts][], partCols = new int[parts][];
+        for (int p = 0; p < parts; p++) {
+            partRows[p] = new int[rowCount[p] + 1];
+            partCols[p] = new int[colCount[p] + 1];
+        }
+        for (int r = 0; r < lines.length; r++) {
+            partRows[rowPart[r]][rowPos[r]] = r + 1;
+        }
+        for (int c = 0; c < bcFeatures.length; c++) {
+            partCols[colPart[c]][colPos[c]] = c + 1;
+        }
+        int[] matched = new int[lines.length + 1];
+        IntStream.range(0, parts).parallel().forEach(p -> {
+            int rows = rowCount[p], cols = colCount[p];
+            if(rows == 0 || cols == 0) {
+                return;
+            }
+            int[][] subCols = new int[rows + 1][];
+            double[][] subScores = new double[rows + 1][];
+            for (int i = 1; i <= rows; i++) {
+                int r = partRows[p][i];
+                int[] mc = matchCols[r];
+                if(mc == null) {
+                    continue;
+                }
+                int n = 0;
+                int[] sc = new int[mc.length];
+                double[] ss = new double[mc.length];
+                for (int k = 0; k < mc.length; k++) {
+                    if(colPart[mc[k] - 1] == p) {
+                        sc[n] = colPos[mc[k] - 1];
+                        ss[n++] = matchScores[r][k];
+                    }
+                }
+                if(n > 0) {
+                    subCols[i] = Arrays.copyOf(sc, n);
+                    subScores[i] = Arrays.copyOf(ss, n);
+                }
+            }
+            int[] subMatched = align(rows, cols, subCols, subScores, diffAddition);
+            for (int i = 1; i <= rows; i++) {
+                if(subMatched[i] > 0) {
+                    matched[partRows[p][i]] = partCols[p][subMatched[i]];
+                }
+            }
+        });
+        return matched;
     }
 
-    private void LCSMatch(boolean diffAddition) {
-        int i = maxLine;
-        int j = maxBcIndex;
-        while (i > 0 && j >= 0) {
-            if (!e1.getFeaturesMap().containsKey(i)) {
-                i--;
-                continue;
+    // Patience style: a source line whose only match is a bytecode cluster
+    // matching no other line, with a perfect score, is an anchor. The longest
+    // chain of anchors in increasing order is taken as matched, and the gaps
+    // between consecutive anchors are aligned independently.
+    private static int[] alignAnchored(int rows, int cols, int[][] matchCols,
+                                       double[][] matchScores, boolean diffAddition) {
+        int[] colMatches = new int[cols + 1];
+        for (int[] mc : matchCols) {
+            if(mc != null) {
+                for (int c : mc) {
+                    colMatches[c]++;
+                }
             }
-            if (!e2.getFeaturesMap().containsKey(j)) {
-                j--;
+        }
+        int[] anchorRows = new int[rows], anchorCols = new int[rows];
+        int n = 0;
+        for (int r = 1; r <= rows; r++) {
+            int[] mc = matchCols[r];
+            if(mc != null && mc.length == 1 && colMatches[mc[0]] == 1
+                    && matchScores[r][0] == 1.0) {
+                anchorRows[n] = r;
+                anchorCols[n++] = mc[0];
+            }
+        }
+        int[] chain = longestIncreasing(anchorCols, n);
+        // gap g lies between borders g and g + 1, the outer borders are sentinels
+        int[] borderRows = new int[chain.length + 2], borderCols = new int[chain.length + 2];
+        for (int k = 0; k < chain.length; k++) {
+            borderRows[k + 1] = anchorRows[chain[k]];
+            borderCols[k + 1] = anchorCols[chain[k]];
+        }
+        borderRows[chain.length + 1] = rows + 1;
+        borderCols[chain.length + 1] = cols + 1;
+        int[] matched = new int[rows + 1];
+        for (int k = 1; k <= chain.length; k++) {
+            matched[borderRows[k]] = borderCols[k];
+        }
+        IntStream.rangeClosed(0, chain.length).parallel().forEach(g ->
+                alignGap(matchCols, borderRows[g], borderRows[g + 1],
+                        borderCols[g], borderCols[g + 1], diffAddition, matched));
+        return matched;
+    }
+
+    // aligns rows (r0, r1) with columns (c0, c1) into matched
+    private static void alignGap(int[][] matchCols, int r0, int r1, int c0, int c1,
+                                 boolean diffAddition, int[] matched) {
+        int rows = r1 - r0 - 1, cols = c1 - c0 - 1;
+        if(rows <= 0 || cols <= 0) {
+            return;
+        }
+        int[][] gapCols = new int[rows + 1][];
+        for (int r = r0 + 1; r < r1; r++) {
+            int[] mc = matchCols[r];
+            if(mc == null) {
                 continue;
             }
-            if(matches(i, j)) {
-                srcMatched[i] = true;
-                score[i] = score(i, j);
-                matchedRanges.put(i, Pair.of(j, j));
-                i--;
-                j--;
-            } else {
-                if (getLCSLength(i - 1, j + 1) > getLCSLength(i, j)) {
-                    i--;
-                } else if (getLCSLength(i - 1, j + 1) < getLCSLength(i, j)) {
-                    j--;
-                } else {
-                    if (diffAddition) {
-                        i--;
-                    } else {
-                        j--;
-                    }
+            int from = lowerBound(mc, c0 + 1), to = lowerBound(mc, c1);
+            if(from < to) {
+                int[] sub = new int[to - from];
+                for (int k = from; k < to; k++) {
+                    sub[k - from] = mc[k] - c0;
                 }
+                gapCols[r - r0] = sub;
             }
         }
-        List<Integer> notMatchedSrc = new ArrayList<>();
-        for(int ii = 1;ii <= maxLine; ii++) {
-            if(e1.getFeaturesMap().containsKey(ii) && !srcMatched[ii]) {
-                notMatchedSrc.add(ii);
+        int[] gapMatched = new LCSAligner(rows, cols, gapCols, diffAddition).align();
+        for (int r = 1; r <= rows; r++) {
+            if(gapMatched[r] > 0) {
+                matched[r0 + r] = gapMatched[r] + c0;
             }
         }
-        notMatchedSrc.forEach(line -> secondRoundMatch(line, e1, e2));
-        e1.getInnerClass().forEach(inner -> {
-            String name = inner.getClassName();
-            BytecodeExtractor bcInner = e2.getInnerClass(name);
-            try {
-                if(bcInner != null) {
-                    J2BCMatcher matcher = new J2BCMatcher(inner, bcInner, true);
-                    merge(matcher);
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        int i = Arrays.binarySearch(sorted, value);
+        return i < 0 ? -i - 1 : i;
+    }
+
+    // indices of a longest strictly increasing subsequence of values[0, n)
+    private static int[] longestIncreasing(int[] values, int n) {
+        int[] tails = new int[n], prev = new int[n];
+        int len = 0;
+        for (int i = 0; i < n; i++) {
+            int lo = 0, hi = len;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if(values[tails[mid]] < values[i]) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
                 }
-            } catch (Exception e) {
-                // ignore
             }
-        });
+            prev[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if(lo == len) {
+                len++;
+            }
+        }
+        int[] chain = new int[len];
+        for (int k = len - 1, i = len > 0 ? tails[len - 1] : -1; k >= 0; k--) {
+            chain[k] = i;
+            i = prev[i];
+        }
+        return chain;
     }
 
     private void merge(J2BCMatcher rhs) {
@@ -204,53 +497,42 @@ final class J2BCMatcher implements CrossMatcher {
         for(int i = 0;i < rhsScore.length;i++) {
             score[i] = Math.max(score[i], rhsScore[i]);
         }
+        rhs.innerFailures.forEach((type, count) -> innerFailures
+                .computeIfAbsent(type, k -> new LongAdder()).add(count.sum()));
     }
 
-    private void secondRoundMatch(int line, JavaExtractor e1, BytecodeExtractor e2) {
-        Map<Integer, Features> fm1, fm2;
-        int maxLine2;
-        fm1 = e1.getFeaturesMap();
-        fm2 = e2.getFeaturesMap();
-        maxLine2 = e2.getFeaturesMap().isEmpty() ? 0 : Collections.max(fm2.keySet());
-        int before = -1, after = -1;
-        for(int i = line - 1; i >= 0; i--) {
-            if(srcMatched[i]) {
-                before = i;
-                break;
-            }
-        }
-        for(int i = line + 1; i < srcMatched.length; i++) {
-            if(srcMatched[i]) {
-                after = i;
-                break;
-            }
-        }
-        int bcStart = 0, bcEnd = maxLine2;
-        if(before != -1) {
-            bcStart = matchedRanges.get(before).getRight() + 1;
+    // Widens the window until some position reaches the threshold, the best
+    // one of that size wins. The window slides by adding one cluster and
+    // removing another, see FeatureWindow
+    private void secondRoundMatch(int row, TreeSet<Integer> matchedRows) {
+        int line = lines[row];
+        // only lines of this class have been matched so far
+        Integer before = matchedRows.lower(row), after = matchedRows.higher(row);
+        int bcStart = 0, bcEnd = maxBcIndex;
+        if(before != null) {
+            bcStart = matchedRanges.get(lines[before]).getRight() + 1;
         }
-        if(after != -1) {
-            bcEnd = matchedRanges.get(after).getLeft();
+        if(after != null) {
+            bcEnd = matchedRanges.get(lines[after]).getLeft();
         }
         int windowSize = 2;
         Pair<Integer, Integer> bestMatch = null;
-        Features bestMatchFeatures = null;
         double bestScore = -1;
+        FeatureMatcher featureMatcher = FeatureMatcher.get(SIM_ALGORITHM);
+        FeatureWindow window = new FeatureWindow(lineFeatures[row]);
         while(windowSize <= bcEnd - bcStart && windowSize <= MAX_WINDOW_SIZE) {
+            window.clear();
+            for(int k = bcStart; k < bcStart + windowSize - 1; k++) {
+                slide(window, k, true);
+            }
             for(int i = bcStart; i < bcEnd - windowSize + 1; i++) {
-                double score;
-                BytecodeFeatures temp;
-                temp = IntStream.range(i, i + windowSize)
-                        .filter(fm2::containsKey)
-                        .mapToObj(fm2::get)
-                        .map(f -> (BytecodeFeatures) f)
-                        .parallel().reduce(BytecodeFeatures::merge).orElse(BytecodeFeatures.empty());
-                score = FeatureMatcher.get(SIM_ALGORITHM).match(fm1.get(line), temp);
+                slide(window, i + windowSize - 1, true);
+                double score = featureMatcher.match(window);
                 if(score > bestScore) {
                     bestScore = score;
                     bestMatch = Pair.of(i, i + windowSize - 1);
-                    bestMatchFeatures = temp;
                 }
+                slide(window, i, false);
             }
             if(bestScore >= SIM_THRESHOLD) {
                 break;
@@ -258,10 +540,25 @@ final class J2BCMatcher implements CrossMatcher {
             windowSize++;
         }
         if(bestScore >= SIM_THRESHOLD) {
-            featuresMap.put(line, bestMatchFeatures);
+            featuresMap.put(line, IntStream.rangeClosed(bestMatch.getLeft(), bestMatch.getRight())
+                    .filter(bcMap::containsKey)
+                    .mapToObj(i -> (BytecodeFeatures) bcMap.get(i))
+                    .reduce(BytecodeFeatures::merge).orElse(BytecodeFeatures.empty()));
             srcMatched[line] = true;
             score[line] = bestScore;
             matchedRanges.put(line, bestMatch);
+            matchedRows.add(row);
+        }
+    }
+
+    private void slide(FeatureWindow window, int bcIndex, boolean add) {
+        Features f = bcMap.get(bcIndex);
+        if(f != null) {
+            if(add) {
+                window.add(f);
+            } else {
+                window.remove(f);
+            }
         }
     }
 }
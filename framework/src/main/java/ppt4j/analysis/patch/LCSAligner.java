@@ -0,0 +1,137 @@
+package ppt4j.analysis.patch;
+
+import java.util.Arrays;
+
+// Longest common subsequence alignment of rows (source statements) and
+// columns (bytecode line clusters), both 1-based. It reproduces the traceback
+// J2BCMatcher used to run on a full memo table: walking back from the last
+// cell, a match is taken diagonally, and otherwise the move keeps the larger
+// LCS length, ties going up if preferUp.
+//
+// Rows are computed bit-parallel (Hyyro): bit j - 1 of a row vector is 0 iff
+// the LCS length grows from column j - 1 to j, so one addition over the match
+// bitmask of a row updates 64 columns per word, and a prefix popcount gives
+// the length at any column. Every sqrt(rows)-th row vector is kept. The
+// traceback then walks the segments between them bottom up, recomputing the
+// row vectors of one segment at a time.
+final class LCSAligner {
+
+    private final int rows;
+
+    private final int cols;
+
+    // words per row vector
+    private final int words;
+
+    // sorted matching columns of each row, null if there are none
+    private final int[][] matches;
+
+    private final boolean preferUp;
+
+    // match bitmask of the row being computed
+    private final long[] rowMask;
+
+    LCSAligner(int rows, int cols, int[][] matches, boolean preferUp) {
+        this.rows = rows;
+        this.cols = cols;
+        this.words = (cols + 63) >>> 6;
+        this.matches = matches;
+        this.preferUp = preferUp;
+        this.rowMask = new long[words];
+    }
+
+    // The column matched with each row, 0 if the row is not matched
+    int[] align() {
+        int[] matched = new int[rows + 1];
+        if(rows == 0 || cols == 0) {
+            return matched;
+        }
+        int seg = Math.max(1, (int) Math.sqrt(rows));
+        long[][] checkpoints = new long[rows / seg + 1][];
+        long[] v = new long[words];
+        Arrays.fill(v, -1L);
+        checkpoints[0] = v.clone();
+        for (int i = 1; i <= rows; i++) {
+            next(v, v, i);
+            if(i % seg == 0) {
+                checkpoints[i / seg] = v.clone();
+            }
+        }
+        long[][] block = new long[seg + 1][words];
+        int i = rows, j = cols;
+        while (i > 0 && j > 0) {
+            // row vectors of rows base .. i
+            int base = (i - 1) / seg * seg;
+            block[0] = checkpoints[base / seg];
+            for (int r = base + 1; r <= i; r++) {
+                next(block[r - base - 1], block[r - base], r);
+            }
+            int cur = length(block[i - base], j);
+            int up = length(block[i - base - 1], j);
+            while (i > base && j > 0) {
+                long[] above = block[i - base - 1];
+                int left = cur - delta(block[i - base], j);
+                if(matches[i] != null && Arrays.binarySearch(matches[i], j) >= 0) {
+                    matched[i] = j;
+                    cur = up - delta(above, j);
+                    i--;
+                    j--;
+                    if(i > base) {
+                        up = length(block[i - base - 1], j);
+                    }
+                } else if(up > left || (up == left && preferUp)) {
+                    cur = up;
+                    i--;
+                    if(i > base) {
+                        up = length(block[i - base - 1], j);
+                    }
+                } else {
+                    up -= delta(above, j);
+                    cur = left;
+                    j--;
+                }
+            }
+        }
+        return matched;
+    }
+
+    // to = row vector of row i, computed from the one of row i - 1
+    private void next(long[] from, long[] to, int i) {
+        if(matches[i] != null) {
+            for (int j : matches[i]) {
+                rowMask[(j - 1) >>> 6] |= 1L << (j - 1);
+            }
+        }
+        long carry = 0;
+        for (int w = 0; w < words; w++) {
+            long x = from[w], u = x & rowMask[w];
+            long sum = x + u + carry;
+            carry = ((x & u) | ((x | u) & ~sum)) >>> 63;
+            to[w] = sum | (x & ~rowMask[w]);
+        }
+        if(matches[i] != null) {
+            for (int j : matches[i]) {
+                rowMask[(j - 1) >>> 6] = 0;
+            }
+        }
+    }
+
+    // LCS length up to column j
+    private static int length(long[] v, int j) {
+        int ones = 0;
+        int w = j >>> 6;
+        for (int k = 0; k < w; k++) {
+            ones += Long.bitCount(v[k]);
+        }
+        if((j & 63) != 0) {
+            ones += Long.bitCount(v[w] & ((1L << j) - 1));
+        }
+        return j - ones;
+    }
+
+    // growth of the LCS length from column j - 1 to j
+    private static int delta(long[] v, int j) {
+        return (int) (~v[(j - 1) >>> 6] >>> (j - 1)) & 1;
+    }
+
+}
@@ -0,0 +1,234 @@
+package ppt4j.analysis.patch;
+
+import ppt4j.annotation.Property;
+import ppt4j.feature.Features;
+import ppt4j.feature.bytecode.BytecodeExtractor;
+import ppt4j.feature.java.JavaExtractor;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+// Aligns a class on demand: a queried line is only aligned within its
+// enclosing method, against the bytecode lines of the corresponding method
+// and of the lambdas compiled from it. Lines outside any method, or in a
+// method without a counterpart in the bytecode, fall back to the alignment
+// of the whole class. Inner classes are aligned the same way,
+// once a queried line belongs to them.
+final class LazyJ2BCMatcher implements CrossMatcher {
+
+    @Property("ppt4j.analysis.matcher.lazy")
+    private static boolean LAZY;
+
+    private final JavaExtractor e1;
+
+    private final BytecodeExtractor e2;
+
+    private final boolean diffType;
+
+    // the bounds of J2BCMatcher's per-line arrays for the whole class
+    private final int length;
+
+    // method key -> aligned region, null if the method has no counterpart
+    private final Map<String, J2BCMatcher> regions = new HashMap<>();
+
+    // see MethodPairing.pair
+    private Map<String, Set<Integer>> pairs;
+
+    private J2BCMatcher whole;
+
+    private List<LazyJ2BCMatcher> inners;
+
+    // inner classes that failed to align
+    private final Set<LazyJ2BCMatcher> failed = new HashSet<>();
+
+    // their failures by exception type, see J2BCMatcher.innerFailed
+    private final Map<String, LongAdder> innerFailures = new HashMap<>();
+
+    LazyJ2BCMatcher(JavaExtractor e1, BytecodeExtractor e2, boolean diffType) {
+        this.e1 = e1;
+        this.e2 = e2;
+        this.diffType = diffType;
+        int maxLine = e1.getFeaturesMap().keySet().stream()
+                .mapToInt(Integer::intValue).max().orElse(0);
+        this.length = Math.max(maxLine, 0) + 10;
+    }
+
+    static boolean isEnabled() {
+        return LAZY;
+    }
+
+    @Override
+    public Features.SourceType getKeyType() {
+        return Features.SourceType.JAVA;
+    }
+
+    @Override
+    public Features.SourceType getValueType() {
+        return Features.SourceType.BYTECODE;
+    }
+
+    @Override
+    public synchronized boolean isMatched(int index) {
+        if(index < 0 || index >= length) {
+            return false;
+        }
+        J2BCMatcher outer = outer(index);
+        if(outer != null && outer.isMatched(index)) {
+            return true;
+        }
+        for (LazyJ2BCMatcher inner : inners(index)) {
+            if(inner.isMatched(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized double getScore(int index) {
+        if(index < 0 || index >= length) {
+            return -1;
+        }
+        J2BCMatcher outer = outer(index);
+        double score = outer == null ? 0 : outer.getScore(index);
+        for (LazyJ2BCMatcher inner : inners(index)) {
+            score = Math.max(score, inner.getScore(index));
+        }
+        return score;
+    }
+
+    @Override
+    public synchronized Pair<Integer, Integer> getMatchedRange(int index) {
+        J2BCMatcher outer = outer(index);
+        if(isMatched(index) && outer != null) {
+            return outer.getMatchedRange(index);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized Features query(int index) {
+        if(!isMatched(index)) {
+            return null;
+        }
+        // merged inner classes used to overwrite the features of the class
+        for (LazyJ2BCMatcher inner : inners(index)) {
+            Features f = inner.query(index);
+            if(f != null) {
+                return f;
+            }
+        }
+        J2BCMatcher outer = outer(index);
+        return outer == null ? null : outer.getFeaturesMap().get(index);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getInnerFailures() {
+        Map<String, Long> failures = new TreeMap<>();
+        innerFailures.forEach((type, count) -> failures.put(type, count.sum()));
+        if(inners != null) {
+            for (LazyJ2BCMatcher inner : inners) {
+                inner.getInnerFailures().forEach(
+                        (type, count) -> failures.merge(type, count, Long::sum));
+            }
+        }
+        return failures;
+    }
+
+    private static boolean hasLine(JavaExtractor ex, int index) {
+        if(ex.getFeaturesMap().containsKey(index)) {
+            return true;
+        }
+        for (JavaExtractor inner : ex.getInnerClass()) {
+            if(hasLine(inner, index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the matcher of this class (without inner classes) covering the line,
+    // null if the line has no features in this class
+    private J2BCMatcher outer(int index) {
+        if(!e1.getFeaturesMap().containsKey(index)) {
+            return null;
+        }
+        String method = enclosingMethod(index);
+        if(method != null) {
+            if(!regions.containsKey(method)) {
+                regions.put(method, region(method));
+            }
+            J2BCMatcher region = regions.get(method);
+            if(region != null) {
+                return region;
+            }
+        }
+        if(whole == null) {
+            whole = new J2BCMatcher(e1, e2, diffType,
+                    line -> true, line -> true, pairs(), false);
+        }
+        return whole;
+    }
+
+    // the innermost method or constructor whose range holds the line
+    private String enclosingMethod(int index) {
+        String method = null;
+        int span = Integer.MAX_VALUE;
+        for (Map.Entry<String, int[]> entry : e1.getMethodRanges().entrySet()) {
+            int[] range = entry.getValue();
+            if(range[0] <= index && index <= range[1] && range[1] - range[0] < span) {
+                method = entry.getKey();
+                span = range[1] - range[0];
+            }
+        }
+        return method;
+    }
+
+    private J2BCMatcher region(String method) {
+        Set<Integer> bcLines = pairs().get(method);
+        if(bcLines == null) {
+            return null;
+        }
+        int[] range = e1.getMethodRanges().get(method);
+        return new J2BCMatcher(e1, e2, diffType,
+                line -> range[0] <= line && line <= range[1], bcLines::contains,
+                Map.of(method, bcLines), false);
+    }
+
+    private Map<String, Set<Integer>> pairs() {
+        if(pairs == null) {
+            pairs = MethodPairing.pair(e1, e2);
+        }
+        return pairs;
+    }
+
+    // the inner classes holding the line
+    private List<LazyJ2BCMatcher> inners(int index) {
+        if(inners == null) {
+            inners = new ArrayList<>();
+            e1.getInnerClass().forEach(inner -> {
+                BytecodeExtractor bcInner = e2.getInnerClass(inner.getClassName());
+                if(bcInner != null) {
+                    inners.add(new LazyJ2BCMatcher(inner, bcInner, true));
+                }
+            });
+        }
+        List<LazyJ2BCMatcher> result = new ArrayList<>();
+        for (LazyJ2BCMatcher inner : inners) {
+            if(failed.contains(inner) || !hasLine(inner.e1, index)) {
+                continue;
+            }
+            try {
+                inner.isMatched(index);
+                result.add(inner);
+            } catch (Exception e) {
+                J2BCMatcher.innerFailed(innerFailures, inner.e1.getClassName(), e);
+                failed.add(inner);
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,150 @@
+package ppt4j.analysis.patch;
+
+import ppt4j.feature.Features;
+import ppt4j.feature.bytecode.BytecodeExtractor;
+import ppt4j.feature.java.JavaExtractor;
+
+import java.util.*;
+
+// Pairs the methods and constructors of a source class with the methods
+// compiled from them. A method pairs with the bytecode method of the same
+// name and erased parameter types. The rest pair by name: directly if the
+// name is unique on both sides, otherwise by the similarity of their
+// feature histograms, best first.
+final class MethodPairing {
+
+    private MethodPairing() {
+    }
+
+    // method key (see JavaExtractor.getMethodRanges) -> source lines of the
+    // paired bytecode method and of the lambdas compiled from methods of that name
+    static Map<String, Set<Integer>> pair(JavaExtractor e1, BytecodeExtractor e2) {
+        Map<String, int[]> methodLines = e2.getMethodLines();
+        Map<String, String> pairs = new TreeMap<>();
+        Map<String, List<String>> javaByName = new TreeMap<>(), bcByName = new HashMap<>();
+        Set<String> paired = new HashSet<>();
+        for (String key : new TreeSet<>(e1.getMethodRanges().keySet())) {
+            if(methodLines.containsKey(key)) {
+                pairs.put(key, key);
+                paired.add(key);
+            } else {
+                javaByName.computeIfAbsent(nameOf(key), k -> new ArrayList<>()).add(key);
+            }
+        }
+        for (String key : new TreeSet<>(methodLines.keySet())) {
+            if(!paired.contains(key)) {
+                bcByName.computeIfAbsent(nameOf(key), k -> new ArrayList<>()).add(key);
+            }
+        }
+        javaByName.forEach((name, javaKeys) -> {
+            List<String> bcKeys = bcByName.get(name);
+            if(bcKeys == null) {
+                return;
+            }
+            if(javaKeys.size() == 1 && bcKeys.size() == 1) {
+                pairs.put(javaKeys.get(0), bcKeys.get(0));
+            } else {
+                pairByHistogram(e1, e2, javaKeys, bcKeys, pairs);
+            }
+        });
+        Map<String, Set<Integer>> result = new TreeMap<>();
+        pairs.forEach((javaKey, bcKey) -> {
+            Set<Integer> lines = new HashSet<>();
+            Arrays.stream(methodLines.get(bcKey)).forEach(lines::add);
+            String lambda = "lambda$" + switch (nameOf(bcKey)) {
+                case "<init>" -> "new";
+                case "<clinit>" -> "static";
+                default -> nameOf(bcKey);
+            } + "$";
+            methodLines.forEach((key, value) -> {
+                if(key.startsWith(lambda)) {
+                    Arrays.stream(value).forEach(lines::add);
+                }
+            });
+            result.put(javaKey, lines);
+        });
+        return result;
+    }
+
+    private static String nameOf(String key) {
+        return key.substring(0, key.indexOf('('));
+    }
+
+    private static void pairByHistogram(JavaExtractor e1, BytecodeExtractor e2,
+                                        List<String> javaKeys, List<String> bcKeys,
+                                        Map<String, String> pairs) {
+        List<List<Map<Object, Integer>>> javaHists = new ArrayList<>();
+        for (String key : javaKeys) {
+            int[] range = e1.getMethodRanges().get(key);
+            javaHists.add(histogram(e1.getFeaturesMap().entrySet().stream()
+                    .filter(e -> range[0] <= e.getKey() && e.getKey() <= range[1])
+                    .map(Map.Entry::getValue).toList()));
+        }
+        List<List<Map<Object, Integer>>> bcHists = new ArrayList<>();
+        for (String key : bcKeys) {
+            Set<Integer> lines = new HashSet<>();
+            Arrays.stream(e2.getMethodLines().get(key)).forEach(lines::add);
+            bcHists.add(histogram(e2.getFeaturesMap().values().stream()
+                    .filter(f -> lines.contains(f.getLineNo())).toList()));
+        }
+        // (similarity, java, bytecode), best first, ties in key order
+        List<double[]> candidates = new ArrayList<>();
+        for (int j = 0; j < javaKeys.size(); j++) {
+            for (int b = 0; b < bcKeys.size(); b++) {
+                double sim = similarity(javaHists.get(j), bcHists.get(b));
+                if(sim > 0) {
+                    candidates.add(new double[]{sim, j, b});
+                }
+            }
+        }
+        candidates.sort(Comparator.<double[]>comparingDouble(c -> -c[0])
+                .thenComparingDouble(c -> c[1]).thenComparingDouble(c -> c[2]));
+        boolean[] javaUsed = new boolean[javaKeys.size()], bcUsed = new boolean[bcKeys.size()];
+        for (double[] c : candidates) {
+            int j = (int) c[1], b = (int) c[2];
+            if(!javaUsed[j] && !bcUsed[b]) {
+                javaUsed[j] = bcUsed[b] = true;
+                pairs.put(javaKeys.get(j), bcKeys.get(b));
+            }
+        }
+    }
+
+    // feature counts, per feature set
+    private static List<Map<Object, Integer>> histogram(List<Features> features) {
+        List<Map<Object, Integer>> hist = new ArrayList<>();
+        for (Features f : features) {
+            List<Set<?>> sets = f.getFeatureSets();
+            for (int k = 0; k < sets.size(); k++) {
+                if(hist.size() <= k) {
+                    hist.add(new HashMap<>());
+                }
+                for (Object feature : sets.get(k)) {
+                    hist.get(k).merge(feature, 1, Integer::sum);
+                }
+            }
+        }
+        return hist;
+    }
+
+    // weighted Jaccard: sum of the minimum counts over sum of the maximum counts
+    private static double similarity(List<Map<Object, Integer>> a,
+                                     List<Map<Object, Integer>> b) {
+        long min = 0, max = 0;
+        for (int k = 0; k < Math.max(a.size(), b.size()); k++) {
+            Map<Object, Integer> ma = k < a.size() ? a.get(k) : Map.of();
+            Map<Object, Integer> mb = k < b.size() ? b.get(k) : Map.of();
+            for (Map.Entry<Object, Integer> e : ma.entrySet()) {
+                int other = mb.getOrDefault(e.getKey(), 0);
+                min += Math.min(e.getValue(), other);
+                max += Math.max(e.getValue(), other);
+            }
+            for (Map.Entry<Object, Integer> e : mb.entrySet()) {
+                if(!ma.containsKey(e.getKey())) {
+                    max += e.getValue();
+                }
+            }
+        }
+        return max == 0 ? 0 : (double) min / (double) max;
+    }
+
+}
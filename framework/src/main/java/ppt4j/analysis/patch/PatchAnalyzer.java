@@ -10,14 +10,21 @@ import ppt4j.diff.FileDiff;
 import ppt4j.factory.DatabaseFactory;
 import ppt4j.factory.ExtractorFactory;
 import ppt4j.feature.FeatureMatcher;
+import ppt4j.feature.FeatureWindow;
 import ppt4j.feature.Features;
 import ppt4j.feature.java.JavaExtractor;
 import ppt4j.feature.java.JavaFeatures;
+import ppt4j.util.InternPool;
 import ppt4j.util.StringUtils;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j;
+import org.apache.commons.lang3.tuple.Pair;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 @Log4j
 public class PatchAnalyzer {
@@ -31,6 +38,11 @@ public class PatchAnalyzer {
     @Property("ppt4j.features.similarity.algorithm")
     private static String SIM_ALGORITHM;
 
+    @Property("ppt4j.analysis.patch.parallelism")
+    private static int PARALLELISM;
+
+    private static ForkJoinPool pool;
+
     private final DiffParser diffParser;
     private final ExtractorFactory factory;
     private final Vulnerability cve;
@@ -40,9 +52,15 @@ public class PatchAnalyzer {
 
     private int total = 0, found = 0;
 
+    @Getter
+    private double ratio = Double.NaN;
+
     private final Set<Integer> preUsedLines = new HashSet<>();
     private final Set<Integer> postUsedLines = new HashSet<>();
 
+    // the matchers of the classes analyzed, see getInnerFailures
+    private final Set<CrossMatcher> matchers = ConcurrentHashMap.newKeySet();
+
     public PatchAnalyzer(Vulnerability cve, ExtractorFactory factory)
             throws IOException {
         this.cve = cve;
@@ -77,6 +95,9 @@ public class PatchAnalyzer {
                 cve.getProjectName(), cve.getCVEId(), cve.getDatabaseId()));
         total = 0;
         found = 0;
+        matchers.clear();
+        Set<String> classNames = new LinkedHashSet<>();
+        List<Pair<String, FileDiff>> diffs = new ArrayList<>();
         for(int i = 0;i < diffParser.getNumOfDiffs();i++) {
             String fileName = diffParser.getFileName(i, true);
             if(filterNotMatch.stream().anyMatch(fileName::matches)) {
@@ -92,6 +113,16 @@ public class PatchAnalyzer {
                     fileName, cve.getJavaSrcTopLevelDir()
             );
             FileDiff fileDiff = diffParser.getFileDiff(i);
+            diffs.add(Pair.of(className, fileDiff));
+            classNames.add(className);
+        }
+        factory.expectClasses(classNames);
+        prepare(diffs, classNames);
+        // The verdict is accumulated in diff order, exactly as if
+        // the classes had been prepared one after another
+        for (Pair<String, FileDiff> diff : diffs) {
+            String className = diff.getLeft();
+            FileDiff fileDiff = diff.getRight();
             for (BlockDiff block : fileDiff.getBlocks()) {
                 if(block.isPureDeletion()) {
                     for (Integer line : block.getDeletionLines()) {
@@ -122,11 +153,22 @@ public class PatchAnalyzer {
                     windowFeatures = mergeFeatures(className, window, type);
                     List<Integer> bestOverlap = null;
                     double bestScore = 0;
+                    // the overlap slides by one candidate line per step
+                    JavaExtractor candidateEx = getExtractor(className, type == '+' ? '-' : '+');
+                    FeatureMatcher alg = FeatureMatcher.get(SIM_ALGORITHM);
+                    FeatureWindow overlapFeatures = new FeatureWindow(windowFeatures);
+                    for(int k = 0; k < windowSize - 1 && k < candidate.size(); k++) {
+                        slide(overlapFeatures, candidateEx, candidate.get(k), true);
+                    }
                     for(int j = 0; j < candidate.size() - windowSize + 1; j++) {
                         List<Integer> overlap = candidate.subList(j, j + windowSize);
-                        Features overlapFeatures = mergeFeatures(className, overlap, type == '+' ? '-' : '+');
-                        FeatureMatcher alg = FeatureMatcher.get(SIM_ALGORITHM);
-                        double score = alg.match(windowFeatures, overlapFeatures);
+                        if(windowSize > 0) {
+                            slide(overlapFeatures, candidateEx, candidate.get(j + windowSize - 1), true);
+                        }
+                        double score = alg.match(overlapFeatures);
+                        if(windowSize > 0) {
+                            slide(overlapFeatures, candidateEx, candidate.get(j), false);
+                        }
                         if(score >= SIM_THRESHOLD && score > bestScore) {
                             bestScore = score;
                             bestOverlap = overlap;
@@ -156,11 +198,126 @@ public class PatchAnalyzer {
                 }
             }
         }
-        double ratio = (double) found / total;
+        ratio = (double) found / total;
         log.info("Result: " + ratio);
+        log.debug("Extractor caches: " + factory.getCacheStats());
+        log.debug("Inner class alignment failures: " + getInnerFailures());
+        log.debug("Feature token pool: " + InternPool.getStats());
         return ratio >= PATCH_PRESENCE_THRESHOLD;
     }
 
+    // Parses all changed classes, then builds their matchers in parallel.
+    // Failures are ignored here, the sequential pass reports them as before.
+    private void prepare(List<Pair<String, FileDiff>> diffs, Set<String> classNames) {
+        if(classNames.size() < 2 || PARALLELISM == 1) {
+            return;
+        }
+        // Parsing reads and writes LibraryConstants, so the sources are
+        // parsed here in turn, each side of a class at the block where the
+        // sequential pass first touches it. The lines it will query are
+        // kept, so that lazy matchers align their methods here as well
+        Map<String, List<Integer>> preLines = new HashMap<>(), postLines = new HashMap<>();
+        Set<String> failed = new HashSet<>();
+        for (Pair<String, FileDiff> diff : diffs) {
+            String className = diff.getLeft();
+            for (BlockDiff block : diff.getRight().getBlocks()) {
+                List<Integer> additions = block.getAdditionLines();
+                List<Integer> deletions = block.getDeletionLines();
+                if(block.isPureDeletion()) {
+                    if(!deletions.isEmpty()) {
+                        touch(className, '-', deletions, preLines, failed);
+                    }
+                } else if(block.isPureAddition()) {
+                    touch(className, '+', additions, postLines, failed);
+                } else {
+                    // filterAddition runs before filterDeletion
+                    touch(className, '+', additions, postLines, failed);
+                    touch(className, '-', deletions, preLines, failed);
+                }
+            }
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (String className : classNames) {
+            List<Integer> pre = preLines.get(className), post = postLines.get(className);
+            if(pre == null && post == null) {
+                continue;
+            }
+            tasks.add(ForkJoinTask.adapt(() -> {
+                try {
+                    if(pre != null) {
+                        CrossMatcher pre2class = getPre2Class(className);
+                        JavaExtractor preEx = factory.getPreJavaClass(className);
+                        pre.forEach(line -> pre2class.isMatched(preEx.getLogicalLine(line)));
+                    }
+                    if(post != null) {
+                        CrossMatcher post2class = getPost2Class(className);
+                        JavaExtractor postEx = factory.getPostJavaClass(className);
+                        post.forEach(line -> post2class.isMatched(postEx.getLogicalLine(line)));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Failed to prepare " + className + ": " + e);
+                }
+            }));
+        }
+        getPool().invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    // Parses the post-patch ('+') or pre-patch ('-') class when first touched,
+    // and adds lines to the ones queried on that side
+    private void touch(String className, char side, List<Integer> lines,
+                       Map<String, List<Integer>> touched, Set<String> failed) {
+        if(failed.contains(side + className)) {
+            return;
+        }
+        if(!touched.containsKey(className)) {
+            try {
+                if(side == '+') {
+                    factory.getPostJavaClass(className);
+                } else {
+                    factory.getPreJavaClass(className);
+                }
+            } catch (RuntimeException e) {
+                log.debug("Failed to parse " + className + ": " + e);
+                failed.add(side + className);
+                return;
+            }
+            touched.put(className, new ArrayList<>());
+        }
+        touched.get(className).addAll(lines);
+    }
+
+    private CrossMatcher getPre2Class(String className) throws IOException {
+        CrossMatcher matcher = factory.getPre2Class(className);
+        matchers.add(matcher);
+        return matcher;
+    }
+
+    private CrossMatcher getPost2Class(String className) throws IOException {
+        CrossMatcher matcher = factory.getPost2Class(className);
+        matchers.add(matcher);
+        return matcher;
+    }
+
+    // Inner classes the analysis failed to align, by exception type,
+    // summed over the classes of this analysis, not over earlier ones
+    public Map<String, Long> getInnerFailures() {
+        Map<String, Long> failures = new TreeMap<>();
+        for (CrossMatcher matcher : matchers) {
+            matcher.getInnerFailures().forEach(
+                    (type, count) -> failures.merge(type, count, Long::sum));
+        }
+        return failures;
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if(pool == null) {
+            int parallelism = PARALLELISM > 0 ?
+                    PARALLELISM : Runtime.getRuntime().availableProcessors();
+            pool = new ForkJoinPool(parallelism);
+        }
+        return pool;
+    }
+
     private void filterDeletion(String className, List<Integer> deletionLines) {
         JavaExtractor preEx;
         try {
@@ -182,19 +339,33 @@ public class PatchAnalyzer {
         additionLines.removeIf(line -> !postEx.isValidLine(line));
     }
 
-    private JavaFeatures mergeFeatures(String className, List<Integer> window, char c) {
-        JavaExtractor ex;
-        JavaFeatures f = JavaFeatures.empty();
+    // the extractor of the post-patch ('+') or pre-patch ('-') class,
+    // null if it can't be parsed
+    private JavaExtractor getExtractor(String className, char c) {
         try {
-            if(c == '+') {
-                ex = factory.getPostJavaClass(className);
-            } else if(c == '-') {
-                ex = factory.getPreJavaClass(className);
-            } else {
-                throw new IllegalStateException();
-            }
+            return c == '+' ? factory.getPostJavaClass(className)
+                    : factory.getPreJavaClass(className);
         } catch (RuntimeException e) {
             log.warn(e);
+            return null;
+        }
+    }
+
+    private void slide(FeatureWindow window, JavaExtractor ex, int line, boolean add) {
+        if(ex == null || !ex.getFeaturesMap().containsKey(line)) {
+            return;
+        }
+        if(add) {
+            window.add(ex.getFeaturesMap().get(line));
+        } else {
+            window.remove(ex.getFeaturesMap().get(line));
+        }
+    }
+
+    private JavaFeatures mergeFeatures(String className, List<Integer> window, char c) {
+        JavaFeatures f = JavaFeatures.empty();
+        JavaExtractor ex = getExtractor(className, c);
+        if(ex == null) {
             return f;
         }
         for (Integer line : window) {
@@ -214,7 +385,7 @@ public class PatchAnalyzer {
             log.warn(e);
             return;
         }
-        CrossMatcher post2class = factory.getPost2Class(className);
+        CrossMatcher post2class = getPost2Class(className);
         lineNum = postEx.getLogicalLine(lineNum);
         if(postUsedLines.contains(lineNum) ||
             !postEx.isValidLine(lineNum) || !postEx.getFeaturesMap().containsKey(lineNum)) {
@@ -237,7 +408,7 @@ public class PatchAnalyzer {
         } catch (RuntimeException e) {
             return;
         }
-        CrossMatcher pre2class = factory.getPre2Class(className);
+        CrossMatcher pre2class = getPre2Class(className);
         lineNum = preEx.getLogicalLine(lineNum);
         if(preUsedLines.contains(lineNum) ||
                 !preEx.isValidLine(lineNum) || !preEx.getFeaturesMap().containsKey(lineNum)) {
@@ -262,8 +433,8 @@ public class PatchAnalyzer {
         } catch (RuntimeException e) {
             return;
         }
-        CrossMatcher pre2class = factory.getPre2Class(className);
-        CrossMatcher post2class = factory.getPost2Class(className);
+        CrossMatcher pre2class = getPre2Class(className);
+        CrossMatcher post2class = getPost2Class(className);
         curLine = preEx.getLogicalLine(curLine);
         nextLine = postEx.getLogicalLine(nextLine);
         if(preUsedLines.contains(curLine) || postUsedLines.contains(nextLine)) {
@@ -300,9 +471,21 @@ public class PatchAnalyzer {
             log.error("Usage: PatchAnalyzer.main <dataset id> <PREPATCH | POSTPATCH>");
             System.exit(1);
         }
+        run(args);
+    }
+
+    // Like main, but returns the verdict. Pooled workers answer with it,
+    // see ExecWorker
+    public static Map<String, Object> run(String[] args) throws IOException {
         int id = Integer.parseInt(args[0]);
         DatabaseType type = DatabaseType.valueOf(args[1].toUpperCase());
-        new PatchAnalyzer(DatabaseFactory.getByDatabaseId(id), type).analyze();
+        PatchAnalyzer analyzer = new PatchAnalyzer(DatabaseFactory.getByDatabaseId(id), type);
+        boolean present = analyzer.analyze();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("present", present);
+        result.put("ratio", analyzer.getRatio());
+        result.put("inner_failures", analyzer.getInnerFailures());
+        return result;
     }
 
 }
@@ -0,0 +1,43 @@
+package ppt4j.database;
+
+import ppt4j.feature.java.JavaExtractor;
+import ppt4j.util.FileUtils;
+import ppt4j.util.PropertyUtils;
+import ppt4j.util.ResourceUtils;
+import lombok.extern.log4j.Log4j;
+
+import java.io.InputStream;
+import java.util.List;
+
+// Loads every extractor serialized in the database, to catch changes of
+// the feature classes that old streams can no longer be read into.
+// See scripts/test.py
+@Log4j
+public final class DatabaseCheck {
+
+    private DatabaseCheck() {
+    }
+
+    public static void main(String[] args) {
+        PropertyUtils.load(ResourceUtils.readProperties());
+        PropertyUtils.init();
+        List<String> files = ResourceUtils.listDatabase("ser/");
+        int failed = 0;
+        for (String file : files) {
+            try {
+                InputStream is = ResourceUtils.readDatabase(file);
+                JavaExtractor ex = FileUtils.deserializeObject(JavaExtractor.class, is);
+                if(ex.getFeaturesMap() == null || ex.getMethodRanges() == null) {
+                    throw new IllegalStateException("Incomplete extractor");
+                }
+            } catch (RuntimeException e) {
+                failed++;
+                log.error("Failed to load " + file + ": " + e);
+            }
+        }
+        log.info(String.format("Loaded %d of %d serialized extractors",
+                files.size() - failed, files.size()));
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+}
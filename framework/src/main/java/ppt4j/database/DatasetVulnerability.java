@@ -0,0 +1,57 @@
+package ppt4j.database;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serial;
+
+// A vulnerability of the dataset, holding the values of its VulnerabilityInfo
+@Getter
+@AllArgsConstructor
+@ToString
+public final class DatasetVulnerability implements Vulnerability {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final int databaseId;
+
+    private final String CVEId;
+
+    private final String repoUrl;
+
+    private final String patchCommitHash;
+
+    private final String diffUrl;
+
+    private final String javaSrcTopLevelDir;
+
+    private final String classesTopLevelDir;
+
+    @Getter(AccessLevel.NONE)
+    private final boolean scanAllModules;
+
+    @Getter(AccessLevel.NONE)
+    private final String[] thirdPartySrcDirs;
+
+    @Getter(AccessLevel.NONE)
+    private final String[] thirdPartyLibDirs;
+
+    @Override
+    public boolean shouldScanAllModules() {
+        return scanAllModules;
+    }
+
+    @Override
+    public String[] getThirdPartySrcDirs() {
+        return thirdPartySrcDirs.clone();
+    }
+
+    @Override
+    public String[] getThirdPartyLibDirs() {
+        return thirdPartyLibDirs.clone();
+    }
+
+}
@@ -18,14 +18,15 @@ import java.util.Objects;
 @SuppressWarnings("unused")
 public class VulnerabilityInfo {
 
+    private static final ObjectMapper mapper = new ObjectMapper();
+
     public static VulnerabilityInfo fromJSON(InputStream stream)
             throws IOException {
-        return new ObjectMapper()
-                .readValue(stream.readAllBytes(), VulnerabilityInfo.class);
+        return mapper.readValue(stream.readAllBytes(), VulnerabilityInfo.class);
     }
 
     public void dumpJSON(String path) throws IOException {
-        new ObjectMapper().writeValue(new File(path), this);
+        mapper.writeValue(new File(path), this);
     }
 
     public String   vul_id;
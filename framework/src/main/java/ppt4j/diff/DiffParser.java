@@ -13,6 +13,8 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Log4j
 public class DiffParser {
@@ -26,6 +28,9 @@ public class DiffParser {
 
     private boolean downloadIntegrityCheck = false;
 
+    // cache file -> its lock, see download
+    private static final Map<String, Object> fileLocks = new ConcurrentHashMap<>();
+
     @Log4j
     static class SigintHandler extends Thread {
 
@@ -64,39 +69,54 @@ public class DiffParser {
         if(web) {
             log.trace("Download complete");
         }
+        diffs = parse(buf);
+    }
+
+    // parses a unified diff that is already in memory
+    public DiffParser(byte[] content) {
+        diffs = parse(content);
+    }
+
+    private List<Diff> parse(byte[] buf) {
         UnifiedDiffParser parser = new UnifiedDiffParser();
-        diffs = parser.parse(preprocess(buf));
-        buildDiffLines();
+        List<Diff> diffs = parser.parse(preprocess(buf));
+        buildDiffLines(diffs);
         for (List<Pair<Integer, Line>> diffLine : diffLines) {
             fileDiffs.add(new FileDiff(diffLine));
         }
+        return diffs;
     }
 
     @SuppressWarnings("ResultOfMethodCallIgnored")
     public byte[] download(URL url) throws IOException {
-        byte[] buf = null;
+        byte[] buf;
         File f = new File(".temp/" + url.toString().hashCode());
-        if(f.exists()) {
-            FileInputStream fis = new FileInputStream(f);
-            buf = fis.readAllBytes();
-            fis.close();
-        } else {
-            f.createNewFile();
-            new SigintHandler(this, f).register();
-            try {
-                URLConnection socketConn = url.openConnection();
-                socketConn.setConnectTimeout(10000);
-                socketConn.setReadTimeout(20000);
-                BufferedInputStream bis = new BufferedInputStream(socketConn.getInputStream());
-                FileOutputStream fos = new FileOutputStream(f);
-                buf = bis.readAllBytes();
-                fos.write(buf);
-                fos.close();
-                bis.close();
-                downloadIntegrityCheck = true;
-            } catch (IOException e) {
-                log.error(e);
-                System.exit(1);
+        // Analyses running in the same VM may share a diff file,
+        // so each cache file is only touched by one thread at a time
+        synchronized (fileLocks.computeIfAbsent(f.getPath(), k -> new Object())) {
+            if(f.exists()) {
+                FileInputStream fis = new FileInputStream(f);
+                buf = fis.readAllBytes();
+                fis.close();
+            } else {
+                f.createNewFile();
+                new SigintHandler(this, f).register();
+                try {
+                    URLConnection socketConn = url.openConnection();
+                    socketConn.setConnectTimeout(10000);
+                    socketConn.setReadTimeout(20000);
+                    BufferedInputStream bis = new BufferedInputStream(socketConn.getInputStream());
+                    FileOutputStream fos = new FileOutputStream(f);
+                    buf = bis.readAllBytes();
+                    fos.write(buf);
+                    fos.close();
+                    bis.close();
+                    downloadIntegrityCheck = true;
+                } catch (IOException e) {
+                    log.error(e);
+                    f.delete();
+                    throw e;
+                }
             }
         }
         return buf;
@@ -136,7 +156,7 @@ public class DiffParser {
         return sb.toString();
     }
 
-    private void buildDiffLines() {
+    private void buildDiffLines(List<Diff> diffs) {
         diffs.forEach(diff -> {
             List<Pair<Integer, Line>> lines = new ArrayList<>();
             diff.getHunks().forEach(hunk -> {
@@ -1,5 +1,6 @@
 package ppt4j.factory;
 
+import ppt4j.database.DatasetVulnerability;
 import ppt4j.database.Vulnerability;
 import ppt4j.database.VulnerabilityInfo;
 import ppt4j.util.ResourceUtils;
@@ -7,44 +8,21 @@ import ppt4j.util.StringUtils;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j;
 
-import javax.tools.*;
-import java.io.*;
-import java.lang.reflect.InvocationTargetException;
-import java.net.URI;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.nio.CharBuffer;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Log4j
 public final class DatabaseFactory {
 
-    private static final JavaCompiler
-            compiler = ToolProvider.getSystemJavaCompiler();
-
-    private static final StandardJavaFileManager
-            stdManager = compiler.getStandardFileManager(null, null, null);
-
-    private static final String classTemplate;
-
     private static final Map<Integer, Vulnerability>
             cachedClasses = new HashMap<>();
 
     private static final Map<String, Vulnerability>
             cachedClassesByCVE = new HashMap<>();
 
-    static {
-        try (InputStream data = ResourceUtils.readVulTemplate()) {
-            classTemplate = new String(data.readAllBytes());
-        } catch (IOException e) {
-            log.error(e);
-            throw new RuntimeException();
-        }
-    }
-
-    public static Vulnerability makeDataset(@NonNull VulnerabilityInfo info) {
+    public static synchronized Vulnerability makeDataset(@NonNull VulnerabilityInfo info) {
         if(cachedClasses.containsKey(StringUtils.extractDatabaseId(info.vul_id)) ||
                 cachedClassesByCVE.containsKey(info.cve_id)) {
             log.error(String.format(
@@ -54,7 +32,7 @@ public final class DatabaseFactory {
             throw new IllegalStateException();
         }
         try {
-            Vulnerability instance = compileAndLoad(info);
+            Vulnerability instance = load(info);
             cachedClasses.put(instance.getDatabaseId(), instance);
             cachedClassesByCVE.put(instance.getCVEId(), instance);
             return instance;
@@ -70,7 +48,7 @@ public final class DatabaseFactory {
         return makeDataset(info);
     }
 
-    public static Vulnerability getByDatabaseId(int id) {
+    public static synchronized Vulnerability getByDatabaseId(int id) {
         if(cachedClasses.containsKey(id)) {
             return cachedClasses.get(id);
         }
@@ -87,153 +65,27 @@ public final class DatabaseFactory {
         }
     }
 
-    private static Vulnerability compileAndLoad(VulnerabilityInfo info)
-            throws NoSuchMethodException, ClassNotFoundException,
-            InvocationTargetException, InstantiationException,
-            IllegalAccessException {
+    private static Vulnerability load(VulnerabilityInfo info) {
         if(info.isEmpty()) {
             log.error("VulnerabilityInfo object is not valid");
             throw new IllegalStateException();
         }
-        String className = info.cve_id.replace("-", "_");
-        String code = String.format(classTemplate,
-                info.cve_id,
+        return new DatasetVulnerability(
                 StringUtils.extractDatabaseId(info.vul_id),
-                className,
-                className,
+                info.cve_id,
                 info.project_url,
                 info.fixing_commit_hash,
                 info.human_patch_url + ".diff",
                 StringUtils.getJavaSrcTopLevelDir(info),
                 info.src_classes_dir,
                 info.should_scan_all_modules,
-                StringUtils.getThirdPartySrcDirsString(info),
-                StringUtils.getThirdPartyLibDirsString(info)
+                copyOf(info.third_party_src_dirs),
+                copyOf(info.third_party_lib_dirs)
         );
-        MemoryJavaFileManager manager =
-                new MemoryJavaFileManager(stdManager);
-        JavaFileObject file = manager.makeStringSource(
-                className + ".java", code);
-        DiagnosticCollector<JavaFileObject> diagnostics =
-                new DiagnosticCollector<>();
-        JavaCompiler.CompilationTask task =
-                compiler.getTask(
-                        null, manager, diagnostics, null, null,
-                        List.of(file)
-                );
-        Boolean result = task.call();
-        if (result == null || !result) {
-            for (var diagnostic : diagnostics.getDiagnostics()) {
-                log.error(diagnostic.getMessage(null));
-            }
-            throw new RuntimeException("Compilation failed.");
-
-        }
-        Map<String, byte[]> classBytes = manager.getClassBytes();
-        manager.close();
-        MemoryClassLoader loader = new MemoryClassLoader(classBytes);
-        Class<?> clazz = loader.loadClass("ppt4j.database." + className);
-        return (Vulnerability) clazz.getConstructor().newInstance();
     }
 
-    static class MemoryJavaFileManager
-            extends ForwardingJavaFileManager<JavaFileManager> {
-
-        final Map<String, byte[]> classBytes = new HashMap<>();
-
-        MemoryJavaFileManager(JavaFileManager fileManager) {
-            super(fileManager);
-        }
-
-        public Map<String, byte[]> getClassBytes() {
-            return new HashMap<>(this.classBytes);
-        }
-
-        @Override
-        public void flush() {}
-
-        @Override
-        public void close() {
-            classBytes.clear();
-        }
-
-        @Override
-        public JavaFileObject getJavaFileForOutput(
-                JavaFileManager.Location location, String className,
-                JavaFileObject.Kind kind, FileObject sibling)
-                throws IOException {
-            if (kind == JavaFileObject.Kind.CLASS) {
-                return new MemoryOutputJavaFileObject(className);
-            } else {
-                return super.getJavaFileForOutput(
-                        location, className, kind, sibling);
-            }
-        }
-
-        JavaFileObject makeStringSource(String name, String code) {
-            return new MemoryInputJavaFileObject(name, code);
-        }
-
-        static class MemoryInputJavaFileObject extends SimpleJavaFileObject {
-
-            final String code;
-
-            MemoryInputJavaFileObject(String name, String code) {
-                super(URI.create("string:///" + name), Kind.SOURCE);
-                this.code = code;
-            }
-
-            @Override
-            public CharBuffer getCharContent(boolean ignoreEncodingErrors) {
-                return CharBuffer.wrap(code);
-            }
-        }
-
-        class MemoryOutputJavaFileObject extends SimpleJavaFileObject {
-            final String name;
-
-            MemoryOutputJavaFileObject(String name) {
-                super(URI.create("string:///" + name), Kind.CLASS);
-                this.name = name;
-            }
-
-            @Override
-            public OutputStream openOutputStream() {
-                return new FilterOutputStream(new ByteArrayOutputStream()) {
-                    @Override
-                    public void close() throws IOException {
-                        out.close();
-                        ByteArrayOutputStream bos =
-                                (ByteArrayOutputStream) out;
-                        classBytes.put(name, bos.toByteArray());
-                    }
-                };
-            }
-
-        }
-
-    }
-
-    static class MemoryClassLoader extends URLClassLoader {
-
-        Map<String, byte[]> classBytes = new HashMap<>();
-
-        public MemoryClassLoader(Map<String, byte[]> classBytes) {
-            super(new URL[0], MemoryClassLoader.class.getClassLoader());
-            this.classBytes.putAll(classBytes);
-        }
-
-        @Override
-        protected Class<?> findClass(String name)
-                throws ClassNotFoundException {
-            byte[] buf = classBytes.get(name);
-            if (buf == null) {
-                return super.findClass(name);
-            }
-            classBytes.remove(name);
-            return defineClass(name, buf, 0, buf.length);
-        }
-
+    private static String[] copyOf(String[] arr) {
+        return arr == null ? new String[0] : arr.clone();
     }
 
 }
@@ -0,0 +1,284 @@
+package ppt4j.factory;
+
+import ppt4j.analysis.java.LibraryConstants;
+import ppt4j.annotation.Property;
+import ppt4j.feature.Features;
+import ppt4j.feature.java.JavaExtractor;
+import ppt4j.feature.java.JavaFeatures;
+import ppt4j.util.FileUtils;
+import ppt4j.util.StringUtils;
+import lombok.extern.log4j.Log4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// A content-addressed, write-through disk cache of parsed JavaExtractors.
+// An entry is keyed by the source file, the files needed for its type
+// resolution and the configuration that affects parsing, so any change to
+// them simply leads to a new key. Constant propagation also depends on the
+// LibraryConstants of the process and on the classes it can load, which are
+// only known after parsing, so an entry holds the constants looked up and is
+// only used while all of them still have the same values. Entries are
+// written atomically and the least recently used ones are evicted once the
+// cache exceeds its size cap.
+@Log4j
+final class ExtractorCache {
+
+    // bump when parsing changes in a way the serialized layout doesn't show
+    private static final int VERSION = 2;
+
+    @Property("ppt4j.cache.extractors.dir")
+    private static String DIR;
+
+    @Property("ppt4j.cache.extractors.max_size_mb")
+    private static long MAX_SIZE_MB;
+
+    @Property("ppt4j.features.constprop_classes")
+    private static String[] CONSTPROP_CLASSES;
+
+    private static ExtractorCache instance;
+
+    private static final class Entry implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        // see LibraryConstants.startRecording
+        final Map<String, Object> lookups;
+
+        final JavaExtractor extractor;
+
+        Entry(Map<String, Object> lookups, JavaExtractor extractor) {
+            this.lookups = lookups;
+            this.extractor = extractor;
+        }
+    }
+
+    private final Path dir;
+
+    private final long maxBytes;
+
+    // -1 until the directory has been measured
+    private final AtomicLong size = new AtomicLong(-1);
+
+    // path:mtime:length -> content hash, sources don't change under a run
+    private final Map<String, String> fileHashes = new ConcurrentHashMap<>();
+
+    private final String configHash;
+
+    ExtractorCache(String dir, long maxBytes) {
+        this.dir = Path.of(StringUtils.resolvePath(dir));
+        this.maxBytes = maxBytes;
+        StringBuilder config = new StringBuilder()
+                .append(VERSION).append('\n')
+                .append(String.join(",", CONSTPROP_CLASSES)).append('\n');
+        for (Class<?> clazz : List.of(JavaExtractor.class, JavaFeatures.class, Features.class)) {
+            config.append(layoutOf(clazz)).append('\n');
+        }
+        this.configHash = sha256(config.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null if the cache is disabled
+    static synchronized ExtractorCache getInstance() {
+        if(instance == null && DIR != null && !DIR.isEmpty() && MAX_SIZE_MB > 0) {
+            instance = new ExtractorCache(DIR, MAX_SIZE_MB << 20);
+        }
+        return instance;
+    }
+
+    String key(String className, Path source, Collection<Path> dependencies)
+            throws IOException {
+        MessageDigest md = newDigest();
+        update(md, configHash);
+        update(md, className);
+        update(md, hashOf(source));
+        List<Path> deps = new ArrayList<>(dependencies);
+        deps.remove(source);
+        // dependencies only matter by content, not by where the root lives
+        List<String> depHashes = new ArrayList<>();
+        for (Path dep : deps) {
+            depHashes.add(hashOf(dep));
+        }
+        Collections.sort(depHashes);
+        depHashes.forEach(h -> update(md, h));
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    JavaExtractor get(String key) {
+        Path path = pathOf(key);
+        if(!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (InputStream is = Files.newInputStream(path)) {
+            Entry entry = FileUtils.deserializeObject(Entry.class, is);
+            if(!LibraryConstants.matches(entry.lookups)) {
+                // overwritten by the caller once parsed again
+                log.debug("Stale constants in extractor cache entry " + key);
+                return null;
+            }
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return entry.extractor;
+        } catch (IOException | IllegalStateException e) {
+            // evicted by another process meanwhile, or unreadable
+            log.debug("Dropping extractor cache entry " + key + ": " + e);
+            delete(path);
+            return null;
+        }
+    }
+
+    void put(String key, JavaExtractor extractor, Map<String, Object> lookups) {
+        Path path = pathOf(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(path.getParent());
+            temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            try (ObjectOutputStream oos = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                oos.writeObject(new Entry(lookups, extractor));
+            }
+            long length = Files.size(temp);
+            getSize();
+            // a stale entry of the same key is replaced
+            long replaced = Files.isRegularFile(path) ? Files.size(path) : 0;
+            Files.move(temp, path,
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            if(size.addAndGet(length - replaced) > maxBytes) {
+                evict();
+            }
+        } catch (IOException e) {
+            log.debug("Failed to write extractor cache entry " + key + ": " + e);
+            if(temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void delete(Path path) {
+        try {
+            long length = Files.size(path);
+            if(Files.deleteIfExists(path)) {
+                size.getAndUpdate(s -> s < 0 ? s : Math.max(0, s - length));
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private long getSize() {
+        if(size.get() < 0) {
+            synchronized (this) {
+                if(size.get() < 0) {
+                    size.set(measure(listEntries()));
+                }
+            }
+        }
+        return size.get();
+    }
+
+    // deletes the least recently used entries until 90% of the cap is left
+    private synchronized void evict() {
+        List<Map.Entry<Path, BasicFileAttributes>> entries = listEntries();
+        long total = measure(entries);
+        entries.sort(Comparator.comparing(e -> e.getValue().lastModifiedTime()));
+        long target = maxBytes / 10 * 9;
+        int evicted = 0;
+        for (Map.Entry<Path, BasicFileAttributes> entry : entries) {
+            if(total <= target) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(entry.getKey());
+                total -= entry.getValue().size();
+                evicted++;
+            } catch (IOException ignored) {
+            }
+        }
+        size.set(total);
+        log.debug(String.format("Evicted %d extractor cache entries, %d bytes left",
+                evicted, total));
+    }
+
+    private List<Map.Entry<Path, BasicFileAttributes>> listEntries() {
+        List<Map.Entry<Path, BasicFileAttributes>> entries = new ArrayList<>();
+        if(!Files.isDirectory(dir)) {
+            return entries;
+        }
+        try (Stream<Path> stream = Files.walk(dir)) {
+            stream.filter(p -> p.toString().endsWith(".bin")).forEach(p -> {
+                try {
+                    entries.add(Map.entry(p,
+                            Files.readAttributes(p, BasicFileAttributes.class)));
+                } catch (IOException ignored) {
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Failed to list " + dir + ": " + e);
+        }
+        return entries;
+    }
+
+    private static long measure(List<Map.Entry<Path, BasicFileAttributes>> entries) {
+        return entries.stream().mapToLong(e -> e.getValue().size()).sum();
+    }
+
+    private Path pathOf(String key) {
+        return dir.resolve(key.substring(0, 2)).resolve(key + ".bin");
+    }
+
+    private String hashOf(Path file) throws IOException {
+        File f = file.toFile();
+        String id = file + ":" + f.lastModified() + ":" + f.length();
+        String hash = fileHashes.get(id);
+        if(hash == null) {
+            hash = sha256(Files.readAllBytes(file));
+            fileHashes.put(id, hash);
+        }
+        return hash;
+    }
+
+    // serializable fields of a class and its superclasses
+    private static String layoutOf(Class<?> clazz) {
+        StringBuilder sb = new StringBuilder();
+        for (Class<?> c = clazz; c != null && Serializable.class.isAssignableFrom(c);
+             c = c.getSuperclass()) {
+            sb.append(c.getName()).append('{');
+            for (ObjectStreamField field : ObjectStreamClass.lookup(c).getFields()) {
+                sb.append(field.getName()).append(':')
+                        .append(field.getTypeString() != null ?
+                                field.getTypeString() : String.valueOf(field.getTypeCode()))
+                        .append(';');
+            }
+            sb.append('}');
+        }
+        return sb.toString();
+    }
+
+    private static void update(MessageDigest md, String s) {
+        md.update(s.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    private static String sha256(byte[] bytes) {
+        return HexFormat.of().formatHex(newDigest().digest(bytes));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
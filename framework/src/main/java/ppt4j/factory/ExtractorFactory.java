@@ -1,34 +1,44 @@
 package ppt4j.factory;
 
+import ppt4j.analysis.java.LibraryConstants;
 import ppt4j.analysis.patch.CrossMatcher;
+import ppt4j.annotation.Property;
 import ppt4j.database.DatabaseType;
 import ppt4j.database.Vulnerability;
 import ppt4j.feature.bytecode.BytecodeExtractor;
 import ppt4j.feature.java.JavaExtractor;
+import ppt4j.util.ConcurrentCache;
 import ppt4j.util.FileUtils;
 import ppt4j.util.ResourceUtils;
 import ppt4j.util.StringUtils;
-import ppt4j.util.VMUtils;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.log4j.Log4j;
 import spoon.Launcher;
 import spoon.reflect.declaration.CtClass;
-import spoon.reflect.declaration.CtImport;
-import spoon.reflect.reference.CtTypeReference;
-import spoon.reflect.visitor.ImportScannerImpl;
-import spoon.support.compiler.jdt.CompilationUnitFilter;
+import spoon.reflect.factory.Factory;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 @Log4j
-public final class ExtractorFactory {
+public final class ExtractorFactory implements Closeable {
+
+    // true: build one Spoon model per source root and extract every class from it,
+    // false: build a model of the files each class depends on
+    @Property("ppt4j.factory.shared_model")
+    private static boolean SHARED_MODEL;
 
     String prepatchPath, postpatchPath;
     String[] thirdPartySrcPath;
@@ -39,15 +49,43 @@ public final class ExtractorFactory {
     boolean isJar = false;
     private JarFile jarFile = null;
 
+    @Getter
     @Setter
     Vulnerability vuln = null;
 
-    final Map<String, JavaExtractor> cachedPreExtractors = new HashMap<>();
-    final Map<String, JavaExtractor> cachedPostExtractors = new HashMap<>();
-    final Map<String, BytecodeExtractor> cachedBytecodeExtractors = new HashMap<>();
+    // see getClassLoader
+    private URLClassLoader classLoader = null;
+
+    // the factory that owns the source-side caches, this one or its source
+    @Getter
+    private final ExtractorFactory sourceSide;
+
+    // constants of the parsed sources, see getScope
+    private LibraryConstants.Scope scope = null;
+
+    // A Spoon model of a source root, or only of the given files of it
+    @AllArgsConstructor
+    private static final class SourceModel {
+        final Factory factory;
+        final Set<Path> files;
 
-    final Map<String, CrossMatcher> cachedPre2Class = new HashMap<>();
-    final Map<String, CrossMatcher> cachedPost2Class = new HashMap<>();
+        boolean contains(Path file) {
+            return files == null || files.contains(file);
+        }
+    }
+
+    final ConcurrentCache<String, JavaExtractor> cachedPreExtractors;
+    final ConcurrentCache<String, JavaExtractor> cachedPostExtractors;
+    // source root (prepatch or postpatch) -> model shared by its classes
+    final ConcurrentCache<DatabaseType, SourceModel> cachedModels;
+    final ConcurrentCache<DatabaseType, SourceIndex> cachedIndexes;
+    // the shared models only compile what these classes depend on
+    final Set<String> expectedClasses;
+
+    final ConcurrentCache<String, BytecodeExtractor> cachedBytecodeExtractors = new ConcurrentCache<>();
+
+    final ConcurrentCache<String, CrossMatcher> cachedPre2Class = new ConcurrentCache<>();
+    final ConcurrentCache<String, CrossMatcher> cachedPost2Class = new ConcurrentCache<>();
 
     public static ExtractorFactory get(String prepatchPath,
                                        String postpatchPath,
@@ -65,7 +103,6 @@ public final class ExtractorFactory {
                                 type.getPath(vuln.getDatabaseId()),
                                 vuln.getClassesTopLevelDir()
                             ).toString();
-        VMUtils.checkVMClassPathPresent(classPath);
         String[] thirdPartySrcPath = StringUtils.getThirdPartySrcDirsFromPrepatch(vuln);
         ExtractorFactory factory = get(prepatchPath, postpatchPath,
                 classPath, thirdPartySrcPath);
@@ -77,6 +114,29 @@ public final class ExtractorFactory {
                      String postpatchPath,
                      String classPath,
                      String... thirdPartySrcPath) {
+        this(prepatchPath, postpatchPath, classPath, thirdPartySrcPath, null);
+    }
+
+    private ExtractorFactory(String prepatchPath,
+                             String postpatchPath,
+                             String classPath,
+                             String[] thirdPartySrcPath,
+                             ExtractorFactory source) {
+        if(source == null) {
+            this.cachedPreExtractors = new ConcurrentCache<>();
+            this.cachedPostExtractors = new ConcurrentCache<>();
+            this.cachedModels = new ConcurrentCache<>();
+            this.cachedIndexes = new ConcurrentCache<>();
+            this.expectedClasses = ConcurrentHashMap.newKeySet();
+            this.sourceSide = this;
+        } else {
+            this.cachedPreExtractors = source.cachedPreExtractors;
+            this.cachedPostExtractors = source.cachedPostExtractors;
+            this.cachedModels = source.cachedModels;
+            this.cachedIndexes = source.cachedIndexes;
+            this.expectedClasses = source.expectedClasses;
+            this.sourceSide = source.sourceSide;
+        }
         this.prepatchPath = StringUtils.resolvePath(prepatchPath);
         this.postpatchPath = StringUtils.resolvePath(postpatchPath);
         this.thirdPartySrcPath = thirdPartySrcPath;
@@ -93,6 +153,32 @@ public final class ExtractorFactory {
         }
     }
 
+    // The returned factory shares the source-side extractors and models with
+    // this one, so only the bytecode of the new class path has to be parsed again
+    public ExtractorFactory withClassPath(String classPath) {
+        ExtractorFactory factory = new ExtractorFactory(prepatchPath, postpatchPath,
+                classPath, thirdPartySrcPath, this);
+        factory.vuln = vuln;
+        return factory;
+    }
+
+    // Announces the classes that will be requested, so that a shared model
+    // compiles the files all of them depend on instead of the whole root
+    public void expectClasses(Collection<String> classNames) {
+        expectedClasses.addAll(classNames);
+    }
+
+    public Map<String, ConcurrentCache.Stats> getCacheStats() {
+        Map<String, ConcurrentCache.Stats> stats = new LinkedHashMap<>();
+        stats.put("pre", cachedPreExtractors.getStats());
+        stats.put("post", cachedPostExtractors.getStats());
+        stats.put("models", cachedModels.getStats());
+        stats.put("bytecode", cachedBytecodeExtractors.getStats());
+        stats.put("pre2class", cachedPre2Class.getStats());
+        stats.put("post2class", cachedPost2Class.getStats());
+        return stats;
+    }
+
     public JavaExtractor getPreJavaClass(String className) {
         return getJavaExtractor(className, cachedPreExtractors, DatabaseType.PREPATCH);
     }
@@ -101,103 +187,163 @@ public final class ExtractorFactory {
         return getJavaExtractor(className, cachedPostExtractors, DatabaseType.POSTPATCH);
     }
 
-    @SuppressWarnings("all")
-    private static class CuFilter implements CompilationUnitFilter {
-
-        private final Set<String> includeClasses = new HashSet<>();
-
-        private final String moduleName;
-        private final String basePath;
-
-        public CuFilter(String basePath, String className, Set<String> includeClasses) {
-            this.basePath = basePath;
-            this.moduleName = className.substring(0, className.lastIndexOf("."));
-            this.includeClasses.addAll(includeClasses);
-        }
-
-        private boolean _exclude(String s) {
-            String mod = s.substring(0, s.lastIndexOf("."));
-            if(mod.endsWith(moduleName)) {
-                return false;
-            }
-            for (String className : includeClasses) {
-                if(s.endsWith(className)) {
-                    return false;
-                }
-            }
-            return true;
-        }
+    private JavaExtractor getJavaExtractor(String className,
+           ConcurrentCache<String, JavaExtractor> cachedExtractors, DatabaseType type) {
+        return cachedExtractors.get(className, name -> loadJavaExtractor(name, type));
+    }
 
-        @Override
-        public boolean exclude(String s) {
-            s = s.substring(0, s.length() - 5);
-            s = s.replace("/", ".");
-            return _exclude(s);
+    // Sources are parsed against the constants of this factory only, so
+    // analyses running in the same VM don't see each other's constants
+    private JavaExtractor loadJavaExtractor(String className, DatabaseType type) {
+        LibraryConstants.Scope outer = LibraryConstants.enter(sourceSide.getScope());
+        try {
+            return readJavaExtractor(className, type);
+        } finally {
+            LibraryConstants.exit(outer);
         }
     }
 
-    private JavaExtractor getJavaExtractor(String className,
-           Map<String, JavaExtractor> cachedExtractors, DatabaseType type) {
-        if(cachedExtractors.containsKey(className)) {
-            return cachedExtractors.get(className);
-        }
+    private JavaExtractor readJavaExtractor(String className, DatabaseType type) {
         if(vuln != null) {
             InputStream is = ResourceUtils.readSerializedFile(vuln.getDatabaseId(), type, className);
             if(is != null) {
                 JavaExtractor extractor = FileUtils.deserializeObject(JavaExtractor.class, is);
                 assert extractor != null;
-                cachedExtractors.put(className, extractor);
                 return extractor;
             }
         }
-        Launcher temp = new Launcher();
-        String basePath = type == DatabaseType.PREPATCH ? prepatchPath : postpatchPath;
-        String path = Path.of(basePath, className.replace(".", "/") + ".java").toString();
-        if(!new File(path).exists()) {
-            log.debug("File not found: " + path);
+        String basePath = getSourceRoot(type);
+        Path file = getSourceFile(basePath, className);
+        if(!file.toFile().exists()) {
+            log.debug("File not found: " + file);
             return JavaExtractor.nil();
         }
-        temp.addInputResource(path);
-        temp.buildModel();
-        ImportScannerImpl importScanner = new ImportScannerImpl();
-        importScanner.scan(temp.getFactory().Class().get(className));
-        Set<String> includeClasses = new HashSet<>();
-        for(CtImport ctImport: importScanner.getAllImports()) {
-            if(ctImport.getReference() instanceof CtTypeReference<?> ty) {
-                includeClasses.add(ty.getQualifiedName());
+        ExtractorCache diskCache = ExtractorCache.getInstance();
+        Set<Path> dependencies = getClosure(type, List.of(file));
+        String key = null;
+        if(diskCache != null && dependencies != null) {
+            try {
+                key = diskCache.key(className, file, dependencies);
+            } catch (IOException e) {
+                log.debug("Failed to hash the sources of " + className + ": " + e);
+            }
+            JavaExtractor cached = key == null ? null : diskCache.get(key);
+            if(cached != null) {
+                cached.registerConstants();
+                return cached;
+            }
+        }
+        JavaExtractor ex;
+        Map<String, Object> lookups;
+        LibraryConstants.startRecording();
+        try {
+            ex = parseJavaExtractor(className, type, file, dependencies);
+        } finally {
+            lookups = LibraryConstants.stopRecording();
+        }
+        if(key != null) {
+            diskCache.put(key, ex, lookups);
+        }
+        return ex;
+    }
+
+    private JavaExtractor parseJavaExtractor(String className, DatabaseType type,
+                                             Path file, Set<Path> dependencies) {
+        if(SHARED_MODEL) {
+            SourceModel model = cachedModels.get(type, this::buildSharedModel);
+            if(model.contains(file)) {
+                // Spoon models are not thread-safe, classes of one root are extracted in turn
+                synchronized (model) {
+                    return extract(model.factory, className);
+                }
+            }
+            log.debug(className + " is not part of the shared model");
+        }
+        return extract(buildModel(getSourceRoot(type), dependencies).factory, className);
+    }
+
+    private SourceModel buildSharedModel(DatabaseType type) {
+        String basePath = getSourceRoot(type);
+        Set<Path> files = null;
+        if(!expectedClasses.isEmpty()) {
+            List<Path> targets = expectedClasses.stream()
+                    .map(name -> getSourceFile(basePath, name))
+                    .filter(f -> f.toFile().exists())
+                    .toList();
+            files = getClosure(type, targets);
+        }
+        log.debug("Building source model of " + basePath + ": "
+                + (files == null ? "all" : files.size()) + " files");
+        return buildModel(basePath, files);
+    }
+
+    // builds the model of the given files, or of the whole root if files is null
+    private SourceModel buildModel(String basePath, Set<Path> files) {
+        Launcher launcher = newLauncher(basePath);
+        if(files != null) {
+            launcher.getModelBuilder().addCompilationUnitFilter(
+                    path -> !files.contains(SourceIndex.normalize(path)));
+            try {
+                launcher.buildModel();
+                return new SourceModel(launcher.getFactory(), files);
+            } catch (Throwable e) {
+                launcher = newLauncher(basePath);
             }
         }
-        CuFilter filter = new CuFilter(basePath, className, includeClasses);
+        launcher.buildModel();
+        return new SourceModel(launcher.getFactory(), null);
+    }
+
+    // files needed for type resolution of the given ones, null if unknown
+    private Set<Path> getClosure(DatabaseType type, Collection<Path> files) {
+        SourceIndex index;
+        try {
+            index = cachedIndexes.get(type, t -> {
+                List<String> roots = new ArrayList<>();
+                roots.add(getSourceRoot(t));
+                roots.addAll(Arrays.asList(thirdPartySrcPath));
+                return SourceIndex.build(roots.toArray(String[]::new));
+            });
+        } catch (IOException e) {
+            log.debug("Failed to index " + getSourceRoot(type) + ": " + e);
+            return null;
+        }
+        return index.closure(files);
+    }
+
+    private String getSourceRoot(DatabaseType type) {
+        return type == DatabaseType.PREPATCH ? prepatchPath : postpatchPath;
+    }
+
+    private static Path getSourceFile(String basePath, String className) {
+        return SourceIndex.normalize(
+                Path.of(basePath, className.replace(".", "/") + ".java").toString());
+    }
+
+    private Launcher newLauncher(String basePath) {
         Launcher launcher = new Launcher();
         launcher.addInputResource(basePath);
         Arrays.stream(thirdPartySrcPath).forEach(launcher::addInputResource);
         launcher.getEnvironment().setPreserveLineNumbers(true);
         launcher.getEnvironment().setIgnoreDuplicateDeclarations(true);
-        try {
-            launcher.getModelBuilder().addCompilationUnitFilter(filter);
-            launcher.buildModel();
-        } catch (Throwable e) {
-            launcher = new Launcher();
-            launcher.addInputResource(basePath);
-            Arrays.stream(thirdPartySrcPath).forEach(launcher::addInputResource);
-            launcher.getEnvironment().setPreserveLineNumbers(true);
-            launcher.getEnvironment().setIgnoreDuplicateDeclarations(true);
-            launcher.buildModel();
-        }
-        CtClass<?> clazz = launcher.getFactory().Class().get(className);
+        return launcher;
+    }
+
+    private static JavaExtractor extract(Factory model, String className) {
+        CtClass<?> clazz = model.Class().get(className);
         if(clazz == null) {
             return JavaExtractor.nil();
         }
         JavaExtractor ex = new JavaExtractor(clazz);
         ex.parse();
-        cachedExtractors.put(className, ex);
         return ex;
     }
 
     public BytecodeExtractor getBytecodeClass(String className) throws IOException {
-        if(cachedBytecodeExtractors.containsKey(className)) {
-            return cachedBytecodeExtractors.get(className);
-        }
+        return cachedBytecodeExtractors.get(className, this::loadBytecodeClass);
+    }
+
+    private BytecodeExtractor loadBytecodeClass(String className) throws IOException {
         BytecodeExtractor ex;
         if(isJar) {
             JarEntry entry = jarFile.getJarEntry(
@@ -208,6 +354,7 @@ public final class ExtractorFactory {
                 }
                 InputStream is = jarFile.getInputStream(entry);
                 ex = new BytecodeExtractor(is);
+                ex.setClassLoader(getClassLoader());
             } catch (IOException e) {
                 log.debug("Bytecode of class " + className + " not found.");
                 return BytecodeExtractor.nil();
@@ -225,6 +372,7 @@ public final class ExtractorFactory {
                     className.replace('.', '/') + ".class").toString();
             try {
                 ex = new BytecodeExtractor(dir);
+                ex.setClassLoader(getClassLoader());
             } catch (IOException e) {
                 log.debug("Bytecode of class " + className + " not found.");
                 return BytecodeExtractor.nil();
@@ -243,28 +391,75 @@ public final class ExtractorFactory {
             }
         }
         ex.parse();
-        cachedBytecodeExtractors.put(className, ex);
         return ex;
     }
 
-    public CrossMatcher getPre2Class(String className) throws IOException {
-        if(cachedPre2Class.containsKey(className)) {
-            return cachedPre2Class.get(className);
+    // The class path of this factory and the libraries of its vulnerability.
+    // Nothing is loaded from the class path of the VM, which may hold the
+    // classes of other analyses
+    synchronized ClassLoader getClassLoader() {
+        if(classLoader == null) {
+            List<String> paths = new ArrayList<>();
+            paths.add(classPath);
+            if(vuln != null) {
+                paths.addAll(Arrays.asList(StringUtils.getThirdPartyLibDirsFromPrepatch(vuln)));
+            }
+            URL[] urls = new URL[paths.size()];
+            try {
+                for (int i = 0; i < urls.length; i++) {
+                    urls[i] = new File(paths.get(i)).toURI().toURL();
+                }
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(e);
+            }
+            classLoader = new URLClassLoader(urls, ClassLoader.getPlatformClassLoader());
+        }
+        return classLoader;
+    }
+
+    private synchronized LibraryConstants.Scope getScope() {
+        if(scope == null) {
+            scope = new LibraryConstants.Scope(getClassLoader());
         }
-        CrossMatcher matcher = CrossMatcher.get(getPreJavaClass(className),
-                getBytecodeClass(className), false);
-        cachedPre2Class.put(className, matcher);
-        return matcher;
+        return scope;
+    }
+
+    public CrossMatcher getPre2Class(String className) throws IOException {
+        return cachedPre2Class.get(className, name ->
+                CrossMatcher.get(getPreJavaClass(name), getBytecodeClass(name), false));
     }
 
     public CrossMatcher getPost2Class(String className) throws IOException {
-        if(cachedPost2Class.containsKey(className)) {
-            return cachedPost2Class.get(className);
+        return cachedPost2Class.get(className, name ->
+                CrossMatcher.get(getPostJavaClass(name), getBytecodeClass(name), true));
+    }
+
+    // Releases the source models and the jar file. Extractors that were
+    // already handed out stay valid, the factory must not be used afterwards.
+    @Override
+    public void close() {
+        // the models are shared with the factories made by withClassPath
+        if(sourceSide == this) {
+            cachedModels.clear();
+        }
+        synchronized (this) {
+            if(classLoader != null) {
+                try {
+                    classLoader.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close the class loader of " + classPath + ": " + e);
+                }
+                classLoader = null;
+            }
+        }
+        if(jarFile != null) {
+            try {
+                jarFile.close();
+            } catch (IOException e) {
+                log.warn("Failed to close " + classPath + ": " + e);
+            }
+            jarFile = null;
         }
-        CrossMatcher matcher = CrossMatcher.get(getPostJavaClass(className),
-                getBytecodeClass(className), true);
-        cachedPost2Class.put(className, matcher);
-        return matcher;
     }
 
 }
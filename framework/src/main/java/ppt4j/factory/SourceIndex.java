@@ -0,0 +1,282 @@
+package ppt4j.factory;
+
+import lombok.extern.log4j.Log4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// An index of the types declared and referenced by the files of Java source
+// roots. It is built from a plain token scan, without parsing, and answers
+// which files a compilation unit transitively needs for type resolution.
+// Spurious references only make a closure larger, never incomplete.
+@Log4j
+final class SourceIndex {
+
+    private static final Pattern PACKAGE =
+            Pattern.compile("\\bpackage\\s+([\\w.]+)\\s*;");
+
+    private static final Pattern IMPORT =
+            Pattern.compile("\\bimport\\s+(static\\s+)?([\\w$.]+?)(\\.\\*)?\\s*;");
+
+    private static final Pattern TYPE_DECLARATION =
+            Pattern.compile("\\b(?:class|interface|enum|record)\\s+([A-Za-z_$][\\w$]*)");
+
+    private static final Pattern TYPE_NAME =
+            Pattern.compile("\\b[A-Z][\\w$]*");
+
+    private static final Pattern QUALIFIED_NAME =
+            Pattern.compile("\\b[a-z_][\\w$]*(?:\\s*\\.\\s*[A-Za-z_$][\\w$]*)+");
+
+    private static final class FileInfo {
+        final Path path;
+        String packageName = "";
+        final Set<String> imports = new HashSet<>();
+        final Set<String> onDemandImports = new HashSet<>();
+        final Set<String> typeNames = new HashSet<>();
+        final Set<String> qualifiedNames = new HashSet<>();
+        final Set<String> declaredTypes = new LinkedHashSet<>();
+
+        FileInfo(Path path) {
+            this.path = path;
+        }
+    }
+
+    // fully qualified name of a top-level type -> declaring file
+    private final Map<String, Path> types = new HashMap<>();
+
+    // package name -> simple name of a top-level type -> declaring file
+    private final Map<String, Map<String, Path>> packages = new HashMap<>();
+
+    // file -> files declaring the types it references
+    private final Map<Path, Set<Path>> dependencies = new HashMap<>();
+
+    private SourceIndex() {
+    }
+
+    static SourceIndex build(String... roots) throws IOException {
+        long start = System.currentTimeMillis();
+        List<FileInfo> files = new ArrayList<>();
+        for (String root : roots) {
+            if(root == null || !new File(root).isDirectory()) {
+                continue;
+            }
+            try (Stream<Path> stream = Files.walk(Path.of(root))) {
+                List<Path> paths = stream
+                        .filter(p -> p.toString().endsWith(".java"))
+                        .filter(Files::isRegularFile)
+                        .toList();
+                for (Path path : paths) {
+                    FileInfo info = scan(normalize(path.toString()));
+                    if(info != null) {
+                        files.add(info);
+                    }
+                }
+            }
+        }
+        SourceIndex index = new SourceIndex();
+        // the primary type of a file wins over secondary and nested declarations
+        files.forEach(info -> index.declare(info, primaryTypeName(info.path)));
+        files.forEach(info -> info.declaredTypes.forEach(name -> index.declare(info, name)));
+        files.forEach(index::link);
+        log.debug(String.format("Indexed %d source files in %d ms",
+                files.size(), System.currentTimeMillis() - start));
+        return index;
+    }
+
+    static Path normalize(String path) {
+        return Path.of(path).toAbsolutePath().normalize();
+    }
+
+    boolean contains(Path file) {
+        return dependencies.containsKey(file);
+    }
+
+    int size() {
+        return dependencies.size();
+    }
+
+    // All files reachable from the given ones, or null if one of them is not indexed
+    Set<Path> closure(Collection<Path> files) {
+        Set<Path> visited = new HashSet<>();
+        Deque<Path> worklist = new ArrayDeque<>();
+        for (Path file : files) {
+            if(!contains(file)) {
+                return null;
+            }
+            if(visited.add(file)) {
+                worklist.push(file);
+            }
+        }
+        while (!worklist.isEmpty()) {
+            for (Path dep : dependencies.get(worklist.pop())) {
+                if(visited.add(dep)) {
+                    worklist.push(dep);
+                }
+            }
+        }
+        return visited;
+    }
+
+    private void declare(FileInfo info, String simpleName) {
+        String name = info.packageName.isEmpty() ?
+                simpleName : info.packageName + "." + simpleName;
+        types.putIfAbsent(name, info.path);
+        packages.computeIfAbsent(info.packageName, k -> new HashMap<>())
+                .putIfAbsent(simpleName, info.path);
+    }
+
+    private void link(FileInfo info) {
+        Set<Path> deps = new HashSet<>();
+        info.imports.forEach(name -> addIfPresent(deps, resolve(name)));
+        info.qualifiedNames.forEach(name -> addIfPresent(deps, resolve(name)));
+        for (String pkg : info.onDemandImports) {
+            Map<String, Path> members = packages.get(pkg);
+            if(members == null) {
+                // static or nested import on demand, e.g. a.b.C.*
+                addIfPresent(deps, resolve(pkg));
+            } else {
+                addReferenced(deps, members, info.typeNames);
+            }
+        }
+        addReferenced(deps, packages.get(info.packageName), info.typeNames);
+        deps.remove(info.path);
+        dependencies.put(info.path, deps);
+    }
+
+    private static void addReferenced(Set<Path> deps, Map<String, Path> members,
+                                      Set<String> typeNames) {
+        if(members == null) {
+            return;
+        }
+        for (String name : typeNames) {
+            addIfPresent(deps, members.get(name));
+        }
+    }
+
+    private static void addIfPresent(Set<Path> deps, Path path) {
+        if(path != null) {
+            deps.add(path);
+        }
+    }
+
+    // longest prefix of a qualified name that is a known top-level type
+    private Path resolve(String name) {
+        while (name.contains(".")) {
+            Path path = types.get(name);
+            if(path != null) {
+                return path;
+            }
+            name = name.substring(0, name.lastIndexOf('.'));
+        }
+        return null;
+    }
+
+    private static String primaryTypeName(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.substring(0, fileName.length() - ".java".length());
+    }
+
+    private static FileInfo scan(Path path) {
+        String text;
+        try {
+            text = stripCommentsAndLiterals(
+                    new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            log.debug("Failed to read " + path + ": " + e);
+            return null;
+        }
+        FileInfo info = new FileInfo(path);
+        Matcher m = PACKAGE.matcher(text);
+        if(m.find()) {
+            info.packageName = m.group(1);
+        }
+        m = IMPORT.matcher(text);
+        while (m.find()) {
+            if(m.group(3) != null) {
+                info.onDemandImports.add(m.group(2));
+            } else {
+                info.imports.add(m.group(2));
+            }
+        }
+        m = TYPE_DECLARATION.matcher(text);
+        while (m.find()) {
+            info.declaredTypes.add(m.group(1));
+        }
+        m = TYPE_NAME.matcher(text);
+        while (m.find()) {
+            info.typeNames.add(m.group());
+        }
+        m = QUALIFIED_NAME.matcher(text);
+        while (m.find()) {
+            info.qualifiedNames.add(m.group().replaceAll("\\s+", ""));
+        }
+        return info;
+    }
+
+    // blanks out comments, string and character literals, keeping line breaks
+    private static String stripCommentsAndLiterals(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            char c = text.charAt(i);
+            char next = i + 1 < n ? text.charAt(i + 1) : 0;
+            if(c == '/' && next == '/') {
+                while (i < n && text.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if(c == '/' && next == '*') {
+                i += 2;
+                while (i < n && !(text.charAt(i) == '*'
+                        && i + 1 < n && text.charAt(i + 1) == '/')) {
+                    if(text.charAt(i) == '\n') {
+                        sb.append('\n');
+                    }
+                    i++;
+                }
+                i += 2;
+                sb.append(' ');
+            } else if(text.startsWith("\"\"\"", i)) {
+                // a text block spans lines and may hold unescaped quotes
+                i += 3;
+                while (i < n && !text.startsWith("\"\"\"", i)) {
+                    if(text.charAt(i) == '\\') {
+                        i++;
+                    }
+                    // \<line-terminator> is an escape of text blocks, too
+                    if(i < n && text.charAt(i) == '\n') {
+                        sb.append('\n');
+                    }
+                    i++;
+                }
+                i += 3;
+                sb.append(' ');
+            } else if(c == '"' || c == '\'') {
+                // other literals end with their line at the latest
+                i++;
+                while (i < n && text.charAt(i) != c && text.charAt(i) != '\n') {
+                    if(text.charAt(i) == '\\') {
+                        i++;
+                    }
+                    i++;
+                }
+                if(i < n && text.charAt(i) == c) {
+                    i++;
+                }
+                sb.append(' ');
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,308 @@
+package ppt4j.feature;
+
+import ppt4j.util.InternPool;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.*;
+
+// The constants of a line. Numbers are kept unboxed in an open-addressing
+// table of their bits, tagged with their type, so 1, 1L and 1.0f are
+// distinct constants as their boxes are. Floating constants compare by
+// their bits, like Float.equals and Double.equals. Strings are interned,
+// other boxes (Character, Short, Byte, ...) are kept as they are. As a Set,
+// the constants are boxed again on iteration, and they are serialized as a
+// plain HashSet of boxes.
+public final class ConstantSet extends AbstractSet<Object> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // tag of a free slot
+    private static final byte FREE = 0;
+    private static final byte INT = 1, LONG = 2, FLOAT = 3, DOUBLE = 4;
+
+    private static final long[] NO_BITS = new long[0];
+    private static final byte[] NO_TAGS = new byte[0];
+
+    private long[] bits = NO_BITS;
+    private byte[] tags = NO_TAGS;
+
+    // occupied slots of the table
+    private int numbers = 0;
+
+    private final Set<String> strings = new HashSet<>();
+
+    // created on first use, rare in practice
+    private Set<Object> others;
+
+    public boolean addInt(int value) {
+        return addBits(value, INT);
+    }
+
+    public boolean addLong(long value) {
+        return addBits(value, LONG);
+    }
+
+    public boolean addFloat(float value) {
+        return addBits(Float.floatToIntBits(value), FLOAT);
+    }
+
+    public boolean addDouble(double value) {
+        return addBits(Double.doubleToLongBits(value), DOUBLE);
+    }
+
+    public boolean addString(String value) {
+        return strings.add(InternPool.intern(value));
+    }
+
+    public boolean removeInt(int value) {
+        return removeBits(value, INT);
+    }
+
+    public boolean containsInt(int value) {
+        return find(value, INT) >= 0;
+    }
+
+    @Override
+    public boolean add(Object o) {
+        if(o instanceof Integer i) {
+            return addInt(i);
+        } else if(o instanceof Long l) {
+            return addLong(l);
+        } else if(o instanceof Float f) {
+            return addFloat(f);
+        } else if(o instanceof Double d) {
+            return addDouble(d);
+        } else if(o instanceof String s) {
+            return addString(s);
+        }
+        Objects.requireNonNull(o);
+        if(others == null) {
+            others = new HashSet<>();
+        }
+        return others.add(o);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if(o instanceof Integer i) {
+            return removeInt(i);
+        } else if(o instanceof Long l) {
+            return removeBits(l, LONG);
+        } else if(o instanceof Float f) {
+            return removeBits(Float.floatToIntBits(f), FLOAT);
+        } else if(o instanceof Double d) {
+            return removeBits(Double.doubleToLongBits(d), DOUBLE);
+        } else if(o instanceof String s) {
+            return strings.remove(s);
+        }
+        return others != null && others.remove(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if(o instanceof Integer i) {
+            return containsInt(i);
+        } else if(o instanceof Long l) {
+            return find(l, LONG) >= 0;
+        } else if(o instanceof Float f) {
+            return find(Float.floatToIntBits(f), FLOAT) >= 0;
+        } else if(o instanceof Double d) {
+            return find(Double.doubleToLongBits(d), DOUBLE) >= 0;
+        } else if(o instanceof String s) {
+            return strings.contains(s);
+        }
+        return others != null && others.contains(o);
+    }
+
+    @Override
+    public boolean addAll(Collection<?> c) {
+        if(!(c instanceof ConstantSet other)) {
+            return super.addAll(c);
+        }
+        boolean changed = false;
+        for (int i = 0; i < other.tags.length; i++) {
+            if(other.tags[i] != FREE) {
+                changed |= addBits(other.bits[i], other.tags[i]);
+            }
+        }
+        // strings of the other set are interned already
+        changed |= strings.addAll(other.strings);
+        if(other.others != null && !other.others.isEmpty()) {
+            if(others == null) {
+                others = new HashSet<>();
+            }
+            changed |= others.addAll(other.others);
+        }
+        return changed;
+    }
+
+    // |this n other|, probing the larger table with the smaller one
+    public int intersectionSize(ConstantSet other) {
+        int n = 0;
+        if(numbers > 0 && other.numbers > 0) {
+            ConstantSet small = numbers <= other.numbers ? this : other;
+            ConstantSet large = small == this ? other : this;
+            for (int i = 0; i < small.tags.length; i++) {
+                if(small.tags[i] != FREE && large.find(small.bits[i], small.tags[i]) >= 0) {
+                    n++;
+                }
+            }
+        }
+        n += intersectionSize(strings, other.strings);
+        if(others != null && other.others != null) {
+            n += intersectionSize(others, other.others);
+        }
+        return n;
+    }
+
+    private static int intersectionSize(Set<?> a, Set<?> b) {
+        if(a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        if(a.size() > b.size()) {
+            Set<?> t = a;
+            a = b;
+            b = t;
+        }
+        int n = 0;
+        for (Object o : a) {
+            if(b.contains(o)) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        return numbers + strings.size() + (others == null ? 0 : others.size());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        bits = NO_BITS;
+        tags = NO_TAGS;
+        numbers = 0;
+        strings.clear();
+        others = null;
+    }
+
+    // iterates over a boxed copy, the set cannot be changed through it
+    @Override
+    public Iterator<Object> iterator() {
+        List<Object> all = new ArrayList<>(size());
+        for (int i = 0; i < tags.length; i++) {
+            if(tags[i] != FREE) {
+                all.add(box(bits[i], tags[i]));
+            }
+        }
+        all.addAll(strings);
+        if(others != null) {
+            all.addAll(others);
+        }
+        return Collections.unmodifiableList(all).iterator();
+    }
+
+    private static Object box(long bits, byte tag) {
+        return switch (tag) {
+            case INT -> (int) bits;
+            case LONG -> bits;
+            case FLOAT -> Float.intBitsToFloat((int) bits);
+            case DOUBLE -> Double.longBitsToDouble(bits);
+            default -> throw new IllegalStateException("Unknown tag: " + tag);
+        };
+    }
+
+    private static int slot(long bits, byte tag, int mask) {
+        long h = (bits ^ ((long) tag << 59)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    // the slot holding the constant, -1 if absent
+    private int find(long value, byte tag) {
+        if(numbers == 0) {
+            return -1;
+        }
+        int mask = tags.length - 1;
+        for (int i = slot(value, tag, mask); ; i = (i + 1) & mask) {
+            if(tags[i] == FREE) {
+                return -1;
+            }
+            if(tags[i] == tag && bits[i] == value) {
+                return i;
+            }
+        }
+    }
+
+    private boolean addBits(long value, byte tag) {
+        if(find(value, tag) >= 0) {
+            return false;
+        }
+        // keep the table at most half full
+        if((numbers + 1) * 2 > tags.length) {
+            resize(Math.max(8, tags.length * 2));
+        }
+        insert(value, tag);
+        numbers++;
+        return true;
+    }
+
+    private void insert(long value, byte tag) {
+        int mask = tags.length - 1;
+        int i = slot(value, tag, mask);
+        while (tags[i] != FREE) {
+            i = (i + 1) & mask;
+        }
+        bits[i] = value;
+        tags[i] = tag;
+    }
+
+    private void resize(int capacity) {
+        long[] oldBits = bits;
+        byte[] oldTags = tags;
+        bits = new long[capacity];
+        tags = new byte[capacity];
+        for (int i = 0; i < oldTags.length; i++) {
+            if(oldTags[i] != FREE) {
+                insert(oldBits[i], oldTags[i]);
+            }
+        }
+    }
+
+    // Frees the slot and shifts back the following entries of its probe
+    // sequence, so lookups never stop early at the freed slot
+    private boolean removeBits(long value, byte tag) {
+        int i = find(value, tag);
+        if(i < 0) {
+            return false;
+        }
+        int mask = tags.length - 1;
+        for (int j = (i + 1) & mask; tags[j] != FREE; j = (j + 1) & mask) {
+            int k = slot(bits[j], tags[j], mask);
+            // the entry at j may move to i if its home slot k is not in (i, j]
+            boolean between = i <= j ? i < k && k <= j : i < k || k <= j;
+            if(!between) {
+                bits[i] = bits[j];
+                tags[i] = tags[j];
+                i = j;
+            }
+        }
+        tags[i] = FREE;
+        bits[i] = 0;
+        numbers--;
+        return true;
+    }
+
+    @Serial
+    private Object writeReplace() {
+        return new HashSet<>(this);
+    }
+
+}
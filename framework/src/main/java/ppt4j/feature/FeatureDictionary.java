@@ -0,0 +1,76 @@
+package ppt4j.feature;
+
+import ppt4j.annotation.Property;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Dense int ids of feature tokens. A token gets a separate id in every
+// feature set (see Features.getFeatureSets), so two lines share an id iff
+// they share a feature. Ids depend on the order tokens are first seen, are
+// never serialized, and are only comparable within one dictionary.
+// New features are encoded with the current dictionary, which is replaced
+// by an empty one once it holds max_size tokens. A replaced dictionary is
+// only referenced by the features encoded with it, and is collected with
+// them (see Features.getEncoded).
+public final class FeatureDictionary {
+
+    // 0: never replace the dictionary
+    @Property("ppt4j.features.dictionary.max_size")
+    private static int MAX_SIZE;
+
+    private static volatile FeatureDictionary current = new FeatureDictionary();
+
+    private final List<ConcurrentMap<Object, Integer>> ids = List.of(
+            new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>(),
+            new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private FeatureDictionary() {
+    }
+
+    public static FeatureDictionary current() {
+        FeatureDictionary dictionary = current;
+        if(MAX_SIZE > 0 && dictionary.size() >= MAX_SIZE) {
+            synchronized (FeatureDictionary.class) {
+                if(current == dictionary) {
+                    current = new FeatureDictionary();
+                }
+                dictionary = current;
+            }
+        }
+        return dictionary;
+    }
+
+    // The sorted ids of all features in sets
+    int[] encode(List<Set<?>> sets) {
+        int size = 0;
+        for (Set<?> set : sets) {
+            size += set.size();
+        }
+        int[] encoded = new int[size];
+        int n = 0;
+        for (int k = 0; k < sets.size(); k++) {
+            ConcurrentMap<Object, Integer> map = ids.get(k);
+            for (Object token : sets.get(k)) {
+                Integer id = map.get(token);
+                if(id == null) {
+                    id = map.computeIfAbsent(token, t -> next.getAndIncrement());
+                }
+                encoded[n++] = id;
+            }
+        }
+        Arrays.sort(encoded);
+        return encoded;
+    }
+
+    public int size() {
+        return next.get();
+    }
+
+}
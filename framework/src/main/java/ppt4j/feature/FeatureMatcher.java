@@ -9,7 +9,7 @@ public interface FeatureMatcher {
     static FeatureMatcher get(String algorithm) {
         switch (algorithm) {
             case "jaccard":
-                return new JaccardMatcher();
+                return JaccardMatcher.INSTANCE;
             default:
                 throw new IllegalArgumentException(
                         "Unknown algorithm: " + algorithm);
@@ -22,6 +22,19 @@ public interface FeatureMatcher {
 
     double match(Features f1, Features f2);
 
+    // the similarity of the window's target and the merged features of
+    // the window, matchers may compute it from the window incrementally
+    default double match(FeatureWindow window) {
+        return match(window.getTarget(), window.merged());
+    }
+
+    // whether the similarity of two feature sets sharing s features never
+    // exceeds s / (|A| + |B| - s), as for Jaccard. Callers may then skip
+    // pairs sharing too few features, see J2BCMatcher.computeMatches
+    default boolean isBoundedByShared() {
+        return false;
+    }
+
     default boolean isMatch(Features f1, Features f2, double threshold) {
         return match(f1, f2) >= threshold;
     }
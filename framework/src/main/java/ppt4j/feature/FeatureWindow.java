@@ -0,0 +1,104 @@
+package ppt4j.feature;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// A sliding window of Features, compared with a fixed target. The window
+// counts every feature, so adding or removing a line only touches that
+// line's features, and keeps the Jaccard intersection and union with the
+// target up to date. jaccard() equals JaccardMatcher.match of the target
+// and merged(), the features of the window as one line.
+public final class FeatureWindow {
+
+    @Getter
+    private final Features target;
+
+    private final List<Set<?>> targetSets;
+
+    private final int targetSize;
+
+    // per feature set: feature -> number of window lines holding it
+    private final List<Map<Object, int[]>> counts = new ArrayList<>();
+
+    // features of the window, and those shared with the target
+    private int distinct = 0, shared = 0;
+
+    public FeatureWindow(@NonNull Features target) {
+        this.target = target;
+        this.targetSets = target.getFeatureSets();
+        this.targetSize = target.size();
+        for (int k = 0; k < targetSets.size(); k++) {
+            counts.add(new HashMap<>());
+        }
+    }
+
+    public void add(@NonNull Features f) {
+        List<Set<?>> sets = f.getFeatureSets();
+        for (int k = 0; k < counts.size(); k++) {
+            for (Object feature : sets.get(k)) {
+                int[] count = counts.get(k).get(feature);
+                if(count == null) {
+                    counts.get(k).put(feature, new int[]{1});
+                    distinct++;
+                    if(targetSets.get(k).contains(feature)) {
+                        shared++;
+                    }
+                } else {
+                    count[0]++;
+                }
+            }
+        }
+    }
+
+    // f must have been added before
+    public void remove(@NonNull Features f) {
+        List<Set<?>> sets = f.getFeatureSets();
+        for (int k = 0; k < counts.size(); k++) {
+            for (Object feature : sets.get(k)) {
+                int[] count = counts.get(k).get(feature);
+                if(--count[0] == 0) {
+                    counts.get(k).remove(feature);
+                    distinct--;
+                    if(targetSets.get(k).contains(feature)) {
+                        shared--;
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        for (Map<Object, int[]> count : counts) {
+            count.clear();
+        }
+        distinct = shared = 0;
+    }
+
+    // the features of the window as those of a single line
+    public Features merged() {
+        Features merged = new Features(target.getSourceType(),
+                target.getClassName(), target.getLineNo());
+        List<Set<?>> sets = merged.getFeatureSets();
+        for (int k = 0; k < counts.size(); k++) {
+            @SuppressWarnings("unchecked")
+            Set<Object> set = (Set<Object>) sets.get(k);
+            set.addAll(counts.get(k).keySet());
+        }
+        return merged;
+    }
+
+    public double jaccard() {
+        int union = targetSize + distinct - shared;
+        if(shared == 0 && union == 0) {
+            return 1.0;
+        }
+        return (double) shared / (double) union;
+    }
+
+}
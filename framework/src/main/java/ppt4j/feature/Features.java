@@ -1,13 +1,18 @@
 package ppt4j.feature;
 
 import ppt4j.annotation.Property;
+import ppt4j.util.InternPool;
 import ppt4j.util.StringUtils;
 import lombok.Getter;
 import lombok.NonNull;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serial;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Getter
@@ -37,13 +42,29 @@ public class Features implements Serializable {
     protected String className;
     protected int lineNo;
 
-    protected final Set<Object>      Constants           = new HashSet<>();
+    // Always a ConstantSet, but serialized as the plain set the streams in
+    // the dataset hold (see ConstantSet.writeReplace and readObject)
+    protected Set<Object>            Constants           = new ConstantSet();
     protected final Set<String>      MethodInvocations   = new HashSet<>();
     protected final Set<String>      FieldAccesses       = new HashSet<>();
     protected final Set<String>      ObjCreations        = new HashSet<>();
     protected final Set<InstType>    Instructions        = new HashSet<>();
     protected final Set<String>      Misc                = new HashSet<>();
 
+    // sorted ids of all features in a dictionary (see FeatureDictionary)
+    private static final class Encoding {
+        final FeatureDictionary dictionary;
+        final int[] ids;
+
+        Encoding(FeatureDictionary dictionary, int[] ids) {
+            this.dictionary = dictionary;
+            this.ids = ids;
+        }
+    }
+
+    // built by encode()
+    private transient volatile Encoding encoded;
+
     protected Features(@NonNull SourceType sourceType,
                     @NonNull String className, int lineNo) {
         this.sourceType = sourceType;
@@ -51,6 +72,10 @@ public class Features implements Serializable {
         this.lineNo = lineNo;
     }
 
+    public ConstantSet getConstants() {
+        return (ConstantSet) Constants;
+    }
+
     public boolean isEmpty() {
         return Constants.isEmpty() &&
                MethodInvocations.isEmpty() &&
@@ -69,6 +94,72 @@ public class Features implements Serializable {
                Misc.size();
     }
 
+    // All feature sets in a fixed order. Lines share a feature if the sets
+    // at the same position have a common element
+    public List<Set<?>> getFeatureSets() {
+        return List.of(Constants, MethodInvocations, FieldAccesses,
+                ObjCreations, Instructions, Misc);
+    }
+
+    // Freezes the features into their ids. Extractors call this once the
+    // features of a line are complete, later changes must call it again
+    public void encode() {
+        FeatureDictionary dictionary = FeatureDictionary.current();
+        encoded = new Encoding(dictionary, dictionary.encode(getFeatureSets()));
+    }
+
+    public boolean isEncoded() {
+        return encoded != null;
+    }
+
+    // The sorted ids of all features in the current dictionary
+    public int[] getEncoded() {
+        return getEncoded(FeatureDictionary.current());
+    }
+
+    // Ids are only comparable within one dictionary, the features are
+    // encoded again if they were encoded with another one
+    public int[] getEncoded(FeatureDictionary dictionary) {
+        Encoding e = encoded;
+        if(e == null || e.dictionary != dictionary) {
+            e = new Encoding(dictionary, dictionary.encode(getFeatureSets()));
+            encoded = e;
+        }
+        return e.ids;
+    }
+
+    // features may have changed, drop their ids
+    protected void clearEncoded() {
+        encoded = null;
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if(!(Constants instanceof ConstantSet)) {
+            ConstantSet constants = new ConstantSet();
+            constants.addAll(Constants);
+            Constants = constants;
+        }
+        internAll(MethodInvocations);
+        internAll(FieldAccesses);
+        internAll(ObjCreations);
+        internAll(Misc);
+        encode();
+    }
+
+    // share the tokens of deserialized features with the parsed ones
+    @SuppressWarnings("unchecked")
+    private static <T> void internAll(Set<T> set) {
+        List<T> tokens = new ArrayList<>(set.size());
+        for (T token : set) {
+            tokens.add(token instanceof String s ? (T) InternPool.intern(s) : token);
+        }
+        set.clear();
+        set.addAll(tokens);
+    }
+
     @Override
     public String toString() {
         String constants = String.format("Constants: %s\n",
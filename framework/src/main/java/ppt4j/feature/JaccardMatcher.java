@@ -1,55 +1,89 @@
 package ppt4j.feature;
 
-import ppt4j.util.SetUtils;
 import lombok.Getter;
 
 import java.util.Set;
 
 final class JaccardMatcher implements FeatureMatcher {
 
+    // stateless, shared by all callers
+    static final JaccardMatcher INSTANCE = new JaccardMatcher();
+
     @Getter
     private final String algorithm = "jaccard";
 
+    private JaccardMatcher() {
+    }
+
     @Override
     public double match(Features f1, Features f2) {
-        Set<Object> f1C, f2C;
-        Set<String> f1M, f2M, f1F, f2F, f1O, f2O, f1S, f2S;
-        Set<Features.InstType> f1I, f2I;
-        f1C = f1.getConstants();
-        f2C = f2.getConstants();
-        f1M = f1.getMethodInvocations();
-        f2M = f2.getMethodInvocations();
-        f1F = f1.getFieldAccesses();
-        f2F = f2.getFieldAccesses();
-        f1O = f1.getObjCreations();
-        f2O = f2.getObjCreations();
-        f1S = f1.getMisc();
-        f2S = f2.getMisc();
-        f1I = f1.getInstructions();
-        f2I = f2.getInstructions();
-        double jaccard;
-        int is = 0, us = 0;
-        is += SetUtils.intersection(f1C, f2C).size();
-        us += SetUtils.union(f1C, f2C).size();
-        is += SetUtils.intersection(f1M, f2M).size();
-        us += SetUtils.union(f1M, f2M).size();
-        is += SetUtils.intersection(f1F, f2F).size();
-        us += SetUtils.union(f1F, f2F).size();
-        is += SetUtils.intersection(f1O, f2O).size();
-        us += SetUtils.union(f1O, f2O).size();
-        is += SetUtils.intersection(f1S, f2S).size();
-        us += SetUtils.union(f1S, f2S).size();
-        is += SetUtils.intersection(f1I, f2I).size();
-        us += SetUtils.union(f1I, f2I).size();
-        if(is == 0 && us == 0) {
-            jaccard = 1.0;
-        } else {
-            if(us == 0) {
-                throw new IllegalStateException("Union is empty");
+        if(f1.isEncoded() && f2.isEncoded()) {
+            FeatureDictionary dictionary = FeatureDictionary.current();
+            return match(f1.getEncoded(dictionary), f2.getEncoded(dictionary));
+        }
+        int is = 0;
+        is += f1.getConstants().intersectionSize(f2.getConstants());
+        is += intersection(f1.getMethodInvocations(), f2.getMethodInvocations());
+        is += intersection(f1.getFieldAccesses(), f2.getFieldAccesses());
+        is += intersection(f1.getObjCreations(), f2.getObjCreations());
+        is += intersection(f1.getMisc(), f2.getMisc());
+        is += intersection(f1.getInstructions(), f2.getInstructions());
+        // |A u B| = |A| + |B| - |A n B|, summed over the sets
+        int us = f1.size() + f2.size() - is;
+        if(us == 0) {
+            return 1.0;
+        }
+        return (double) is / (double) us;
+    }
+
+    @Override
+    public boolean isBoundedByShared() {
+        return true;
+    }
+
+    @Override
+    public double match(FeatureWindow window) {
+        return window.jaccard();
+    }
+
+    // |a n b|, probing the larger set with the elements of the smaller one
+    private static int intersection(Set<?> a, Set<?> b) {
+        if(a.isEmpty() || b.isEmpty()) {
+            return 0;
+        }
+        if(a.size() > b.size()) {
+            Set<?> t = a;
+            a = b;
+            b = t;
+        }
+        int n = 0;
+        for (Object o : a) {
+            if(b.contains(o)) {
+                n++;
             }
-            jaccard = (double) is / (double) us;
         }
-        return jaccard;
+        return n;
+    }
+
+    // the same ratio over the sorted feature ids
+    private static double match(int[] a, int[] b) {
+        int is = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if(a[i] < b[j]) {
+                i++;
+            } else if(a[i] > b[j]) {
+                j++;
+            } else {
+                is++;
+                i++;
+                j++;
+            }
+        }
+        int us = a.length + b.length - is;
+        if(us == 0) {
+            return 1.0;
+        }
+        return (double) is / (double) us;
     }
 
 }
\ No newline at end of file
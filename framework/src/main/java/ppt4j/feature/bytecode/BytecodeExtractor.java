@@ -9,8 +9,10 @@ import ppt4j.util.AsmUtils;
 import ppt4j.util.StringUtils;
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
 import lombok.extern.log4j.Log4j;
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Type;
 import org.objectweb.asm.tree.*;
 
 import java.io.FileInputStream;
@@ -19,6 +21,7 @@ import java.io.InputStream;
 import java.io.Serial;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.StreamSupport;
 
 @SuppressWarnings("unused")
 @Log4j
@@ -39,6 +42,11 @@ public final class BytecodeExtractor implements Extractor {
     @Getter
     private final Map<Integer, Features> featuresMap = new TreeMap<>();
 
+    // sorted source lines of the methods, by name and erased parameter types
+    // like JavaExtractor.getMethodRanges
+    @Getter
+    private final Map<String, int[]> methodLines = new HashMap<>();
+
     private transient final Map<Integer, List<AbstractInsnNode>>
             aggInstMap = new TreeMap<>();
 
@@ -52,6 +60,10 @@ public final class BytecodeExtractor implements Extractor {
 
     private boolean isParsed = false;
 
+    // see ArgTypeAnalysis, set before parse() and putInnerClass
+    @Setter
+    private transient ClassLoader classLoader;
+
     @Getter
     private final String className;
 
@@ -91,9 +103,10 @@ public final class BytecodeExtractor implements Extractor {
                 if(!AsmUtils.hasLineNumberInfo(m)) {
                     log.warn("Method " + m.name + " does not have line number info, skipping");
                 } else {
-                    new ArgTypeAnalysis(className, m, methodDescMap).analyze();
+                    new ArgTypeAnalysis(className, m, methodDescMap, classLoader).analyze();
                     new LoopAnalysis(className, m, backwardBranches).analyze();
                     cluster(m.instructions, aggInstMap);
+                    putMethodLines(m);
                 }
             }
         });
@@ -115,6 +128,7 @@ public final class BytecodeExtractor implements Extractor {
             if(clinitMap.containsKey(line)) {
                 features.getInstructions().remove(Features.InstType.RETURN);
             }
+            features.encode();
             featuresMap.put(idx.get(), features);
             idx.incrementAndGet();
         });
@@ -122,6 +136,9 @@ public final class BytecodeExtractor implements Extractor {
     }
 
     public void putInnerClass(@NonNull BytecodeExtractor ex) {
+        if(ex.classLoader == null) {
+            ex.classLoader = classLoader;
+        }
         ex.parse();
         innerClasses.put(ex.getClassName(), ex);
     }
@@ -145,6 +162,18 @@ public final class BytecodeExtractor implements Extractor {
         }
     }
 
+    private void putMethodLines(MethodNode m) {
+        StringJoiner params = new StringJoiner(",", m.name + "(", ")");
+        for (Type type : Type.getArgumentTypes(m.desc)) {
+            params.add(type.getClassName());
+        }
+        int[] lines = StreamSupport.stream(m.instructions.spliterator(), false)
+                .filter(node -> node instanceof LineNumberNode)
+                .mapToInt(node -> ((LineNumberNode) node).line)
+                .sorted().distinct().toArray();
+        methodLines.put(params.toString(), lines);
+    }
+
     private void cluster(InsnList insts,
                          Map<Integer, List<AbstractInsnNode>> map) {
         Iterator<AbstractInsnNode> it = insts.iterator();
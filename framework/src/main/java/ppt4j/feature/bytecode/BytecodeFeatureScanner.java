@@ -3,6 +3,7 @@ package ppt4j.feature.bytecode;
 import ppt4j.annotation.Property;
 import ppt4j.feature.Features;
 import ppt4j.util.AsmUtils;
+import ppt4j.util.InternPool;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
@@ -36,14 +37,14 @@ final class BytecodeFeatureScanner extends MethodVisitor {
         }
         String signature = owner + "." + name + ":" + descriptor;
         signature = signature.substring(0, signature.lastIndexOf(")") + 1);
-        features.getMethodInvocations().add(signature);
+        features.getMethodInvocations().add(InternPool.intern(signature));
     }
 
     @Override
     public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
         super.visitFieldInsn(opcode, owner, name, descriptor);
         if(name.startsWith("$SwitchMap$")) {
-            features.getFieldAccesses().add(name + ":" + descriptor);
+            features.getFieldAccesses().add(InternPool.intern(name + ":" + descriptor));
             return;
         }
         // Access java/lang/Void.class will actually access java/lang/Void.TYPE
@@ -54,7 +55,7 @@ final class BytecodeFeatureScanner extends MethodVisitor {
         if(name.matches(".*\\$\\d+") || owner.contains("$")) {
             return;
         }
-        features.getFieldAccesses().add(owner + "." + name + ":" + descriptor);
+        features.getFieldAccesses().add(InternPool.intern(owner + "." + name + ":" + descriptor));
     }
 
     @Override
@@ -74,7 +75,7 @@ final class BytecodeFeatureScanner extends MethodVisitor {
             return;
         }
         if (AsmUtils.isConstOp(opcode)) {
-            features.getConstants().add(AsmUtils.getConst(opcode));
+            addConst(opcode);
             return;
         }
         if (opcode == Opcodes.MONITORENTER) {
@@ -99,7 +100,7 @@ final class BytecodeFeatureScanner extends MethodVisitor {
     public void visitIntInsn(int opcode, int operand) {
         super.visitIntInsn(opcode, operand);
         if(opcode == Opcodes.BIPUSH || opcode == Opcodes.SIPUSH) {
-            features.getConstants().add(operand);
+            features.getConstants().addInt(operand);
             return;
         }
 
@@ -113,7 +114,7 @@ final class BytecodeFeatureScanner extends MethodVisitor {
     public void visitTypeInsn(int opcode, String type) {
         super.visitTypeInsn(opcode, type);
         if (opcode == Opcodes.ANEWARRAY) {
-            features.getObjCreations().add(type + "[]");
+            features.getObjCreations().add(InternPool.intern(type + "[]"));
         }
         if (opcode == Opcodes.INSTANCEOF) {
             features.getInstructions().add(Features.InstType.INSTANCEOF);
@@ -129,7 +130,7 @@ final class BytecodeFeatureScanner extends MethodVisitor {
         if(dflt != null) {
             count++;
         }
-        features.getMisc().add("CASE" + count);
+        features.getMisc().add(InternPool.intern("CASE" + count));
     }
 
     @Override
@@ -146,14 +147,14 @@ final class BytecodeFeatureScanner extends MethodVisitor {
         if(dflt != null) {
             count++;
         }
-        features.getMisc().add("CASE" + count);
+        features.getMisc().add(InternPool.intern("CASE" + count));
         features.getInstructions().add(Features.InstType.SWITCH);
     }
 
     @Override
     public void visitIincInsn(int varIndex, int increment) {
         super.visitIincInsn(varIndex, increment);
-        features.getConstants().add(increment);
+        features.getConstants().addInt(increment);
     }
 
     @Override
@@ -167,4 +168,17 @@ final class BytecodeFeatureScanner extends MethodVisitor {
         }
     }
 
+    // the value of AsmUtils.getConst, without boxing it
+    private void addConst(int opcode) {
+        if(opcode >= Opcodes.ICONST_M1 && opcode <= Opcodes.ICONST_5) {
+            features.getConstants().addInt(opcode - Opcodes.ICONST_0);
+        } else if(opcode <= Opcodes.LCONST_1) {
+            features.getConstants().addLong(opcode - Opcodes.LCONST_0);
+        } else if(opcode <= Opcodes.FCONST_2) {
+            features.getConstants().addFloat(opcode - Opcodes.FCONST_0);
+        } else {
+            features.getConstants().addDouble(opcode - Opcodes.DCONST_0);
+        }
+    }
+
 }
@@ -55,13 +55,13 @@ public final class BytecodeFeatures extends Features {
                     (next.getOpcode() == Opcodes.ANEWARRAY || next.getOpcode() == Opcodes.NEWARRAY)) {
                 int length = (int) AsmUtils.getConst(inst.getOpcode());
                 for(int j = 0; j <= length; j++) {
-                    getConstants().remove(j);
+                    getConstants().removeInt(j);
                 }
             }
             if(inst.getOpcode() == Opcodes.ARRAYLENGTH &&
                     (next.getOpcode() == Opcodes.IFNE ||
                             next.getOpcode() == Opcodes.IFEQ)) {
-                getConstants().add(0);
+                getConstants().addInt(0);
             }
         }
         Printer printer = new Textifier();
@@ -74,9 +74,8 @@ public final class BytecodeFeatures extends Features {
     public static BytecodeFeatures merge(@NonNull BytecodeFeatures f1,
                                          @NonNull BytecodeFeatures f2) {
         BytecodeFeatures merged = new BytecodeFeatures();
-        Stream.of(f1.getConstants(), f2.getConstants())
-                .flatMap(Collection::stream)
-                .forEach(merged.getConstants()::add);
+        merged.getConstants().addAll(f1.getConstants());
+        merged.getConstants().addAll(f2.getConstants());
         Stream.of(f1.getMethodInvocations(), f2.getMethodInvocations())
                 .flatMap(Collection::stream)
                 .forEach(merged.getMethodInvocations()::add);
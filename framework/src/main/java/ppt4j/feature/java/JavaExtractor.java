@@ -6,13 +6,16 @@ import ppt4j.analysis.java.ConstPropAnalysis;
 import ppt4j.analysis.java.LibraryConstants;
 import ppt4j.feature.Extractor;
 import ppt4j.feature.Features;
+import ppt4j.util.InternPool;
 import ppt4j.util.StringUtils;
 import spoon.Launcher;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtStatement;
 import spoon.reflect.cu.SourcePosition;
 import spoon.reflect.declaration.CtClass;
+import spoon.reflect.declaration.CtExecutable;
 import spoon.reflect.declaration.CtField;
+import spoon.reflect.declaration.CtParameter;
 import spoon.reflect.factory.ClassFactory;
 import spoon.reflect.reference.CtFieldReference;
 import spoon.reflect.reference.CtTypeReference;
@@ -21,6 +24,7 @@ import spoon.reflect.visitor.filter.LineFilter;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
 import java.io.Serial;
 import java.util.*;
 
@@ -32,7 +36,8 @@ public final class JavaExtractor implements Extractor {
     @Serial
     private static final long serialVersionUID = 1L;
 
-    private transient final CtClass<?> root;
+    // dropped after parsing, so extractors don't keep whole Spoon models alive
+    private transient CtClass<?> root;
 
     @Getter
     private final Map<String, JavaExtractor>
@@ -53,6 +58,15 @@ public final class JavaExtractor implements Extractor {
 
     private final Map<Integer, Integer> splitLinesToLogical = new TreeMap<>();
 
+    // literal fields put into LibraryConstants while parsing,
+    // not final, see readObject
+    private Map<String, Object> constants = new HashMap<>();
+
+    // first and last line of the methods and constructors of this class, by
+    // name and erased parameter types, e.g. "foo(int,java.lang.String[])"
+    @Getter
+    private Map<String, int[]> methodRanges = new HashMap<>();
+
     public JavaExtractor(InputStream inputStream)
             throws IOException {
         this(Launcher.parseClass(new String(inputStream.readAllBytes())));
@@ -102,6 +116,8 @@ public final class JavaExtractor implements Extractor {
         }
         root.getFields().forEach(this::parseField);
         root.getElements(new LineFilter()).forEach(this::parseLine);
+        root.getMethods().forEach(this::parseMethodRange);
+        root.getConstructors().forEach(this::parseMethodRange);
         root.getNestedTypes().forEach(ty -> {
             if (ty instanceof CtClass _class) {
 
@@ -115,9 +131,32 @@ public final class JavaExtractor implements Extractor {
             innerClasses.put(ex.getClassName(), ex);
         });
         innerClasses.values().forEach(JavaExtractor::parse);
+        featuresMap.values().forEach(Features::encode);
+        root = null;
         isParsed = true;
     }
 
+    // Puts the constants found by parse() into LibraryConstants again,
+    // for extractors that were deserialized instead of parsed
+    public void registerConstants() {
+        constants.forEach(LibraryConstants::put);
+        innerClasses.values().forEach(JavaExtractor::registerConstants);
+    }
+
+    // the extractors shipped in the dataset were written before
+    // constants and methodRanges existed
+    @Serial
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if(constants == null) {
+            constants = new HashMap<>();
+        }
+        if(methodRanges == null) {
+            methodRanges = new HashMap<>();
+        }
+    }
+
     public Collection<JavaExtractor> getInnerClass() {
         return innerClasses.values();
     }
@@ -144,9 +183,9 @@ public final class JavaExtractor implements Extractor {
         ConstPropAnalysis<?> analysis = new ConstPropAnalysis<>(assignment);
         analysis.analyze();
         if(!analysis.isLiteral()) {
-            String fieldAccess =
+            String fieldAccess = InternPool.intern(
                     StringUtils.convertQualifiedName(fieldRef.getQualifiedName(), root.getQualifiedName())
-                    + ":" + StringUtils.convertToDescriptor(fieldTypeRef.getQualifiedName());
+                    + ":" + StringUtils.convertToDescriptor(fieldTypeRef.getQualifiedName()));
             JavaFeatures features;
             if(assignment instanceof CtStatement stmt) {
                 features = new JavaFeatures(root.getQualifiedName(), stmt);
@@ -156,7 +195,9 @@ public final class JavaExtractor implements Extractor {
                 putFeatures(stmt.getPosition().getLine(), features);
             }
         } else {
-            LibraryConstants.put(fieldRef.getQualifiedName(), analysis.getLiteral().getValue());
+            Object value = analysis.getLiteral().getValue();
+            constants.put(fieldRef.getQualifiedName(), value);
+            LibraryConstants.put(fieldRef.getQualifiedName(), value);
         }
     }
 
@@ -178,6 +219,25 @@ public final class JavaExtractor implements Extractor {
         }
     }
 
+    private void parseMethodRange(CtExecutable<?> method) {
+        SourcePosition pos = method.getPosition();
+        if(pos.equals(SourcePosition.NOPOSITION) || method.isImplicit()) {
+            return;
+        }
+        StringJoiner params = new StringJoiner(",", method.getSimpleName() + "(", ")");
+        for (CtParameter<?> param : method.getParameters()) {
+            CtTypeReference<?> type = param.getType();
+            String name;
+            try {
+                name = type.getTypeErasure().getQualifiedName();
+            } catch (RuntimeException e) {
+                name = type.getQualifiedName();
+            }
+            params.add(name);
+        }
+        methodRanges.put(params.toString(), new int[]{pos.getLine(), pos.getEndLine()});
+    }
+
     private void putSplitLines(JavaFeatures features) {
         List<Integer> splitLines = features.getSplitLines();
         int baseLine = splitLines.get(0);
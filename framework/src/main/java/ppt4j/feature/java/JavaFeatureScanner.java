@@ -2,6 +2,7 @@ package ppt4j.feature.java;
 
 import ppt4j.analysis.java.ConstPropAnalysis;
 import ppt4j.feature.Features;
+import ppt4j.util.InternPool;
 import ppt4j.util.StringUtils;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j;
@@ -59,12 +60,12 @@ final class JavaFeatureScanner
             String switchMapField = "$SwitchMap$" +
                     selectorType.replace('/', '$');
             features.getFieldAccesses().add(
-                    switchMapField + ":[I");
+                    InternPool.intern(switchMapField + ":[I"));
             features.getMethodInvocations().add(
-                    selectorType + ".ordinal:()");
+                    InternPool.intern(selectorType + ".ordinal:()"));
         }
         List<CtCase<? super S>> cases = switchStatement.getCases();
-        features.getMisc().add("CASE" + cases.size());
+        features.getMisc().add(InternPool.intern("CASE" + cases.size()));
     }
 
     @Override
@@ -156,7 +157,7 @@ final class JavaFeatureScanner
             if(argsCount != origArgsCount) {
                 assert origArgsCount > 0;
                 features.getObjCreations().add(
-                        origArgs[origArgsCount - 1].replace(".", "/")
+                        InternPool.intern(origArgs[origArgsCount - 1].replace(".", "/"))
                 );
             }
             int length = Math.min(origArgsCount, argsCount);
@@ -203,10 +204,10 @@ final class JavaFeatureScanner
                 signature = "java/lang/Object.equals:(Ljava/lang/Class;)";
             }
             if (className.equals("org/springframework/util/Assert") && name.equals("isTrue")) {
-                features.getConstants().add(0);
-                features.getConstants().add(1);
+                features.getConstants().addInt(0);
+                features.getConstants().addInt(1);
             }
-            features.getMethodInvocations().add(signature);
+            features.getMethodInvocations().add(InternPool.intern(signature));
         }
     }
 
@@ -214,8 +215,8 @@ final class JavaFeatureScanner
     public <T> void visitCtNewArray(CtNewArray<T> newArray) {
         super.visitCtNewArray(newArray);
         features.getObjCreations()
-                .add(newArray.getType()
-                        .getQualifiedName().replace(".","/"));
+                .add(InternPool.intern(newArray.getType()
+                        .getQualifiedName().replace(".","/")));
     }
 
     @Override
@@ -309,12 +310,12 @@ final class JavaFeatureScanner
             features.getConstants().add(o);
 
         } else if(literal.getType().toString().equals("char")) {
-            features.getConstants().add((int) ((char) o));
+            features.getConstants().addInt((char) o);
         } else if(literal.getType().toString().equals("boolean")) {
             if((boolean) o) {
-                features.getConstants().add(1);
+                features.getConstants().addInt(1);
             } else {
-                features.getConstants().add(0);
+                features.getConstants().addInt(0);
             }
         } else {
             features.getConstants().add(o);
@@ -451,7 +452,7 @@ final class JavaFeatureScanner
                 StringUtils.convertMethodSignature(sb.toString(), "void");
         signature = signature.substring(0, signature.lastIndexOf(")") + 1);
         features.getMethodInvocations()
-                .add(signature);
+                .add(InternPool.intern(signature));
     }
 
     private String customizeQualifiedName(CtTypeReference<?> fieldTypeRef,
@@ -460,7 +461,7 @@ final class JavaFeatureScanner
                 fieldTypeRef.getQualifiedName());
         String fieldName = StringUtils.convertQualifiedName(
                 fieldRef.getQualifiedName(), features.getClassName());
-        return fieldName + ":" + typeDesc;
+        return InternPool.intern(fieldName + ":" + typeDesc);
     }
 
 }
@@ -8,6 +8,7 @@ import lombok.NonNull;
 import lombok.extern.log4j.Log4j;
 import spoon.reflect.code.CtStatement;
 
+import java.io.Serial;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,6 +17,11 @@ import java.util.List;
 @SuppressWarnings("unused")
 public final class JavaFeatures extends Features {
 
+    // as computed for the features serialized in the dataset, which are
+    // read with the fields their streams describe (see FileUtils)
+    @Serial
+    private static final long serialVersionUID = -1475260504266493426L;
+
     private final String text;
 
     private final List<Integer> splitLines = new ArrayList<>();
@@ -49,6 +55,7 @@ public final class JavaFeatures extends Features {
         getObjCreations().addAll(other.getObjCreations());
         getInstructions().addAll(other.getInstructions());
         getMisc().addAll(other.getMisc());
+        clearEncoded();
     }
 
     @Override
@@ -0,0 +1,350 @@
+package ppt4j.server;
+
+import ppt4j.analysis.patch.PatchAnalyzer;
+import ppt4j.annotation.Property;
+import ppt4j.database.DatabaseType;
+import ppt4j.database.Vulnerability;
+import ppt4j.factory.DatabaseFactory;
+import ppt4j.factory.ExtractorFactory;
+import ppt4j.util.StringUtils;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.log4j.Log4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+// A resident analysis service on the loopback interface. Vulnerabilities,
+// source-side extractors and bytecode extractors stay cached between jobs,
+// so repeated questions about the same binary skip all model building.
+// The VM class path only holds the framework, every binary is loaded through
+// the class loader of its own factory (see ExtractorFactory.getClassLoader).
+//
+//   POST /analyze  {"id": 1, "classpath": "/path/to/lib.jar"}
+//   POST /analyze  {"id": 1, "type": "postpatch"}
+//   GET  /status
+@Log4j
+public final class AnalysisServer {
+
+    @Property("ppt4j.server.port")
+    private static int PORT;
+
+    @Property("ppt4j.server.workers")
+    private static int WORKERS;
+
+    @Property("ppt4j.server.queue_capacity")
+    private static int QUEUE_CAPACITY;
+
+    @Property("ppt4j.server.cache_size")
+    private static int CACHE_SIZE;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class AnalysisRequest {
+        public int      id;
+        public String   type;
+        public String   classpath;
+    }
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final HttpServer server;
+
+    private final ExecutorService workers;
+
+    private final Semaphore admission;
+
+    private final int capacity;
+
+    // vulnerability id -> factory holding the source-side extractors
+    private final Map<Integer, ExtractorFactory> sourceFactories;
+
+    // vulnerability id @ class path -> factory holding the bytecode extractors
+    private final Map<String, ExtractorFactory> binaryFactories;
+
+    // vulnerability id @ class path -> its current key in binaryFactories
+    private final Map<String, String> binaryKeys = new ConcurrentHashMap<>();
+
+    // jobs for the same vulnerability share extractors, so they run one at a time
+    private final Map<Integer, Object> locks = new ConcurrentHashMap<>();
+
+    // closes factories that left the caches, see release
+    private final ExecutorService closer = Executors.newSingleThreadExecutor();
+
+    public AnalysisServer(int port, int workers, int queueCapacity, int cacheSize)
+            throws IOException {
+        this.capacity = workers + queueCapacity;
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.admission = new Semaphore(capacity);
+        this.sourceFactories = lruCache(cacheSize);
+        this.binaryFactories = lruCache(cacheSize);
+        server = HttpServer.create(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/analyze", this::handleAnalyze);
+        server.createContext("/status", this::handleStatus);
+    }
+
+    public AnalysisServer() throws IOException {
+        this(PORT, WORKERS, QUEUE_CAPACITY, CACHE_SIZE);
+    }
+
+    private <K> Map<K, ExtractorFactory> lruCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, ExtractorFactory> eldest) {
+                if(size() > maxSize) {
+                    release(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    // A factory that left the caches may still run a job, or share its models
+    // with cached ones. It is closed once neither holds, under the lock of its
+    // vulnerability, on a thread of its own so that no two locks are nested
+    private void release(ExtractorFactory factory) {
+        closer.execute(() -> {
+            Object lock = locks.computeIfAbsent(
+                    factory.getVuln().getDatabaseId(), k -> new Object());
+            synchronized (lock) {
+                ExtractorFactory source = factory.getSourceSide();
+                if(isUnused(factory)) {
+                    factory.close();
+                }
+                if(source != factory && isUnused(source)) {
+                    source.close();
+                }
+            }
+        });
+    }
+
+    private boolean isUnused(ExtractorFactory factory) {
+        if(sourceFactories.containsValue(factory)) {
+            return false;
+        }
+        synchronized (binaryFactories) {
+            for (ExtractorFactory cached : binaryFactories.values()) {
+                if(cached == factory || cached.getSourceSide() == factory) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void start() {
+        server.start();
+        log.info("Analysis server listening on " + server.getAddress());
+    }
+
+    public void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+        closer.shutdown();
+        try {
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+            closer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Set<ExtractorFactory> factories = Collections.newSetFromMap(new IdentityHashMap<>());
+        synchronized (sourceFactories) {
+            factories.addAll(sourceFactories.values());
+            sourceFactories.clear();
+        }
+        synchronized (binaryFactories) {
+            factories.addAll(binaryFactories.values());
+            binaryFactories.clear();
+        }
+        factories.forEach(ExtractorFactory::close);
+    }
+
+    private void handleAnalyze(HttpExchange exchange) throws IOException {
+        if(!exchange.getRequestMethod().equals("POST")) {
+            reply(exchange, 405, Map.of("error", "POST required"));
+            return;
+        }
+        AnalysisRequest request;
+        try {
+            request = mapper.readValue(
+                    exchange.getRequestBody().readAllBytes(), AnalysisRequest.class);
+        } catch (IOException e) {
+            reply(exchange, 400, Map.of("error", "Malformed request: " + e.getMessage()));
+            return;
+        }
+        if(!admission.tryAcquire()) {
+            reply(exchange, 503, Map.of("error", "Server busy, try again later"));
+            return;
+        }
+        Future<Map<String, Object>> result;
+        try {
+            result = workers.submit(() -> analyze(request));
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            reply(exchange, 503, Map.of("error", "Server is shutting down"));
+            return;
+        }
+        try {
+            reply(exchange, 200, result.get());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            int code = cause instanceof IllegalArgumentException ? 400 : 500;
+            reply(exchange, code, Map.of("error", String.valueOf(cause)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reply(exchange, 500, Map.of("error", "Interrupted"));
+        }
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("pending", capacity - admission.availablePermits());
+        status.put("capacity", capacity);
+        status.put("source_factories", sourceFactories.size());
+        status.put("binary_factories", binaryFactories.size());
+        reply(exchange, 200, status);
+    }
+
+    private Map<String, Object> analyze(AnalysisRequest request) throws IOException {
+        try {
+            Vulnerability vuln;
+            try {
+                vuln = DatabaseFactory.getByDatabaseId(request.id);
+            } catch (IllegalStateException e) {
+                throw new IllegalArgumentException("No vulnerability with id " + request.id);
+            }
+            String classPath = resolveClassPath(request, vuln);
+            Object lock = locks.computeIfAbsent(vuln.getDatabaseId(), k -> new Object());
+            synchronized (lock) {
+                long start = System.currentTimeMillis();
+                ExtractorFactory factory = getFactory(vuln, classPath);
+                PatchAnalyzer analyzer = new PatchAnalyzer(vuln, factory);
+                boolean present = analyzer.analyze();
+                Map<String, Object> response = new LinkedHashMap<>();
+                response.put("id", vuln.getDatabaseId());
+                response.put("cve", vuln.getCVEId());
+                response.put("classpath", classPath);
+                response.put("present", present);
+                response.put("ratio", analyzer.getRatio());
+                response.put("cache_stats", factory.getCacheStats());
+                response.put("inner_failures", analyzer.getInnerFailures());
+                response.put("elapsed_ms", System.currentTimeMillis() - start);
+                return response;
+            }
+        } finally {
+            admission.release();
+        }
+    }
+
+    private static String resolveClassPath(AnalysisRequest request, Vulnerability vuln) {
+        if(request.classpath != null && !request.classpath.isEmpty()) {
+            String classPath = StringUtils.resolvePath(request.classpath);
+            if(!new File(classPath).exists()) {
+                throw new IllegalArgumentException("Class path not found: " + classPath);
+            }
+            return classPath;
+        }
+        if(request.type == null) {
+            throw new IllegalArgumentException("Either classpath or type is required");
+        }
+        DatabaseType type;
+        try {
+            type = DatabaseType.valueOf(request.type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown binary type: " + request.type);
+        }
+        return Path.of(type.getPath(vuln.getDatabaseId()),
+                vuln.getClassesTopLevelDir()).toString();
+    }
+
+    private ExtractorFactory getFactory(Vulnerability vuln, String classPath)
+            throws IOException {
+        // a rebuilt jar or class directory gets fresh bytecode extractors
+        String binary = vuln.getDatabaseId() + "@" + classPath;
+        String key = binary + ":" + fingerprint(classPath);
+        String outdated = binaryKeys.put(binary, key);
+        if(outdated != null && !outdated.equals(key)) {
+            ExtractorFactory stale = binaryFactories.remove(outdated);
+            if(stale != null) {
+                release(stale);
+            }
+        }
+        ExtractorFactory factory = binaryFactories.get(key);
+        if(factory != null) {
+            return factory;
+        }
+        ExtractorFactory source = sourceFactories.get(vuln.getDatabaseId());
+        if(source == null) {
+            factory = ExtractorFactory.get(
+                    StringUtils.getDatabasePrepatchSrcPath(vuln),
+                    StringUtils.getDatabasePostpatchSrcPath(vuln),
+                    classPath,
+                    StringUtils.getThirdPartySrcDirsFromPrepatch(vuln));
+            factory.setVuln(vuln);
+            sourceFactories.put(vuln.getDatabaseId(), factory);
+        } else {
+            factory = source.withClassPath(classPath);
+        }
+        binaryFactories.put(key, factory);
+        return factory;
+    }
+
+    // Changes whenever a class file below the class path is added, removed or
+    // rewritten. The modification time of a directory only covers its own entries
+    private static String fingerprint(String classPath) throws IOException {
+        Path root = Path.of(classPath);
+        if(!Files.isDirectory(root)) {
+            return Files.getLastModifiedTime(root).toMillis() + ":" + Files.size(root);
+        }
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.walk(root)) {
+            classFiles = files.filter(f -> f.toString().endsWith(".class")).sorted().toList();
+        }
+        for (Path file : classFiles) {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            md.update((root.relativize(file) + ":" + attrs.lastModifiedTime().toMillis()
+                    + ":" + attrs.size() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+
+    private static void reply(HttpExchange exchange, int code, Map<String, Object> body)
+            throws IOException {
+        byte[] bytes = mapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : PORT;
+        AnalysisServer server = new AnalysisServer(port, WORKERS, QUEUE_CAPACITY, CACHE_SIZE);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        server.start();
+    }
+
+}
@@ -11,18 +11,15 @@ public class AspectUtils {
 
     @Before("execution(* *.main(String[]))")
     public void init() {
+        if(PropertyUtils.isInitialized()) {
+            // e.g. a job started by ExecWorker in an initialized VM
+            return;
+        }
         log.debug("Initializing properties");
         PropertyUtils.load(ResourceUtils.readProperties());
         PropertyUtils.init();
     }
 
-    @Before(value = "execution(* ppt4j.factory.ExtractorFactory.get(String,String,String))" +
-            "&& args(prepatchPath, postpatchPath, classPath)",
-            argNames = "prepatchPath,postpatchPath,classPath")
-    public void checkClassPath(String prepatchPath, String postpatchPath, String classPath) {
-        VMUtils.checkVMClassPathPresent(classPath);
-    }
-
     @Around("execution(* *(..)) && @annotation(ppt4j.annotation.MethodProfiler) ")
     public Object logTime(ProceedingJoinPoint point)
             throws Throwable {
@@ -0,0 +1,99 @@
+package ppt4j.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// A thread-safe cache that loads every key at most once at a time. A thread
+// asking for a key that is being loaded waits for that result instead of
+// loading it again. Failed loads are not cached, all waiters see the failure.
+public final class ConcurrentCache<K, V> {
+
+    @FunctionalInterface
+    public interface Loader<K, V, E extends Exception> {
+        V load(K key) throws E;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long waits;
+        private final int size;
+
+        @Override
+        public String toString() {
+            return String.format("size=%d, hits=%d, misses=%d, waits=%d",
+                    size, hits, misses, waits);
+        }
+    }
+
+    private final ConcurrentMap<K, CompletableFuture<V>>
+            map = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <E extends Exception> V get(K key, Loader<K, V, E> loader) throws E {
+        CompletableFuture<V> future = map.get(key);
+        if(future == null) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            future = map.putIfAbsent(key, created);
+            if(future == null) {
+                misses.increment();
+                try {
+                    V value = loader.load(key);
+                    created.complete(value);
+                    return value;
+                } catch (Exception | Error e) {
+                    map.remove(key, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+        if(future.isDone()) {
+            hits.increment();
+        } else {
+            waits.increment();
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if(cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if(cause instanceof Error err) {
+                throw err;
+            }
+            throw (E) cause;
+        }
+    }
+
+    public boolean containsKey(K key) {
+        CompletableFuture<V> future = map.get(key);
+        return future != null && future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.sum(), misses.sum(), waits.sum(), map.size());
+    }
+
+}
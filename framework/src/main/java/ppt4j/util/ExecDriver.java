@@ -1,9 +1,33 @@
 package ppt4j.util;
 
+import java.util.Map;
+
 @SuppressWarnings("unused")
 public interface ExecDriver {
 
     static ExecDriver getInstance() {
+        String os = System.getProperty("os.name").toLowerCase();
+        if(os.contains("nux") || os.contains("mac") || os.contains("nix")) {
+            if(PooledExecDriver.isEnabled()) {
+                return new PooledExecDriver();
+            }
+            return new UnixExecDriver();
+        } else {
+            throw new UnsupportedOperationException("Unsupported OS: " + os);
+        }
+    }
+
+    static ExecDriver getPooledInstance() {
+        String os = System.getProperty("os.name").toLowerCase();
+        if(os.contains("nux") || os.contains("mac") || os.contains("nix")) {
+            return new PooledExecDriver();
+        } else {
+            throw new UnsupportedOperationException("Unsupported OS: " + os);
+        }
+    }
+
+    // Always forks, e.g. for a resident server that must not hold a pooled worker
+    static ExecDriver getForkingInstance() {
         String os = System.getProperty("os.name").toLowerCase();
         if(os.contains("nux") || os.contains("mac") || os.contains("nix")) {
             return new UnixExecDriver();
@@ -22,6 +46,11 @@ public interface ExecDriver {
 
     int exitValue();
 
+    // The answer of a finished pooled job (see ExecWorker), null for a forked process
+    default Map<String, Object> getResult() {
+        return null;
+    }
+
     void reset();
 
 }
@@ -0,0 +1,128 @@
+package ppt4j.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Child side of PooledExecDriver. Reads one job per line from stdin, runs the
+// requested main method with the job's extra class path, and answers with one
+// JSON line on stdout. A main class with a static Map<String, Object>
+// run(String[]) is run through that instead, its map is the "result" field. Everything printed by the jobs goes to stderr, which the
+// parent forwards like the output of a forked process.
+public final class ExecWorker {
+
+    private static final PrintStream protocol = System.out;
+
+    static {
+        // must happen before log4j captures System.out
+        System.setOut(System.err);
+    }
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    public static class Job {
+        public long         id;
+        public String       main;
+        public String[]     args;
+        public String[]     classpath;
+    }
+
+    public static void main(String[] args) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in));
+        String line;
+        while ((line = in.readLine()) != null) {
+            if(line.isBlank()) {
+                continue;
+            }
+            Job job = mapper.readValue(line, Job.class);
+            Map<String, Object> result = run(job);
+            protocol.println(mapper.writeValueAsString(result));
+            protocol.flush();
+        }
+    }
+
+    private static Map<String, Object> run(Job job) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", job.id);
+        long start = System.currentTimeMillis();
+        Thread current = Thread.currentThread();
+        ClassLoader parent = current.getContextClassLoader();
+        // Delegation finds the framework, and thus the job's main class, on the
+        // worker's own class path first. Analyses don't rely on this loader,
+        // they resolve their targets through ExtractorFactory.getClassLoader
+        try (URLClassLoader loader = new URLClassLoader(toURLs(job.classpath), parent)) {
+            current.setContextClassLoader(loader);
+            Class<?> clazz = Class.forName(job.main, true, loader);
+            Method run = getRunMethod(clazz);
+            if(run != null) {
+                result.put("result", run.invoke(null, (Object) job.args));
+            } else {
+                Method main = clazz.getMethod("main", String[].class);
+                main.invoke(null, (Object) job.args);
+            }
+            result.put("exit", 0);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            cause.printStackTrace();
+            result.put("exit", 1);
+            result.put("error", cause.toString());
+            result.put("fatal", cause instanceof Error);
+        } catch (Exception e) {
+            e.printStackTrace();
+            result.put("exit", 1);
+            result.put("error", e.toString());
+        } finally {
+            current.setContextClassLoader(parent);
+        }
+        result.put("elapsed_ms", System.currentTimeMillis() - start);
+        // what the job left behind, not the garbage it happened to leave uncollected
+        System.gc();
+        result.put("heap_used_mb",
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() >> 20);
+        return result;
+    }
+
+    private static Method getRunMethod(Class<?> clazz) {
+        try {
+            Method run = clazz.getMethod("run", String[].class);
+            if(Modifier.isStatic(run.getModifiers()) && Map.class.isAssignableFrom(run.getReturnType())) {
+                return run;
+            }
+        } catch (NoSuchMethodException ignored) {
+        }
+        return null;
+    }
+
+    private static URL[] toURLs(String[] classpath) throws MalformedURLException {
+        List<URL> urls = new ArrayList<>();
+        if(classpath == null) {
+            return new URL[0];
+        }
+        for (String entry : classpath) {
+            if(entry.endsWith("*")) {
+                File[] jars = new File(entry.substring(0, entry.length() - 1))
+                        .listFiles((dir, name) -> name.endsWith(".jar"));
+                if(jars != null) {
+                    for (File jar : jars) {
+                        urls.add(jar.toURI().toURL());
+                    }
+                }
+            } else {
+                urls.add(new File(entry).toURI().toURL());
+            }
+        }
+        return urls.toArray(URL[]::new);
+    }
+
+}
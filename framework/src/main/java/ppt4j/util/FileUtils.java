@@ -16,7 +16,7 @@ public class FileUtils {
             log.error("File exists with the same name as the directory");
             throw new IllegalStateException();
         }
-        if(!dir.mkdirs()) {
+        if(!dir.mkdirs() && !dir.isDirectory()) {
             log.error("Failed to create directory");
             throw new IllegalStateException();
         }
@@ -44,13 +44,14 @@ public class FileUtils {
             super(in);
         }
 
+        // Only the class name is mapped, the fields are still read as the
+        // stream describes them, so that classes may gain fields
         @Override
-        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
-            ObjectStreamClass desc = super.readClassDescriptor();
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
             if(desc.getName().startsWith("bscout")) {
-                return ObjectStreamClass.lookup(Class.forName(desc.getName().replace("bscout", "ppt4j")));
+                return Class.forName(desc.getName().replace("bscout", "ppt4j"));
             }
-            return desc;
+            return super.resolveClass(desc);
         }
     }
 
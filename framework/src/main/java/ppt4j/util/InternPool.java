@@ -0,0 +1,115 @@
+package ppt4j.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// A thread-safe pool of canonical strings, so that the feature tokens of all
+// extractors share one instance per distinct value. The pool only holds weak
+// references, a token no longer used by any features, nor by the feature
+// dictionary they were encoded with (see FeatureDictionary), is collected.
+public final class InternPool {
+
+    @Getter
+    @AllArgsConstructor
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final int size;
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / (double) total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d, hits=%d, misses=%d, hit rate=%.3f",
+                    size, hits, misses, getHitRate());
+        }
+    }
+
+    // Equal to any key holding an equal string. A cleared key is only
+    // equal to itself, so it can still be removed
+    private static final class Key extends WeakReference<String> {
+
+        private final int hash;
+
+        Key(String s, ReferenceQueue<String> queue) {
+            super(s, queue);
+            hash = s.hashCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) {
+                return true;
+            }
+            if(!(o instanceof Key key) || hash != key.hash) {
+                return false;
+            }
+            String s = get();
+            return s != null && s.equals(key.get());
+        }
+    }
+
+    private static final ConcurrentMap<Key, Key> pool = new ConcurrentHashMap<>();
+
+    private static final ReferenceQueue<String> cleared = new ReferenceQueue<>();
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    private InternPool() {
+    }
+
+    // The pooled string equal to s, s itself if there was none
+    public static String intern(String s) {
+        if(s == null) {
+            return null;
+        }
+        expunge();
+        Key probe = new Key(s, null);
+        while (true) {
+            Key key = pool.get(probe);
+            if(key != null) {
+                String pooled = key.get();
+                if(pooled != null) {
+                    hits.increment();
+                    return pooled;
+                }
+                pool.remove(key, key);
+                continue;
+            }
+            Key created = new Key(s, cleared);
+            if(pool.putIfAbsent(created, created) == null) {
+                misses.increment();
+                return s;
+            }
+        }
+    }
+
+    public static Stats getStats() {
+        expunge();
+        return new Stats(hits.sum(), misses.sum(), pool.size());
+    }
+
+    private static void expunge() {
+        Reference<? extends String> ref;
+        while ((ref = cleared.poll()) != null) {
+            pool.remove(ref, ref);
+        }
+    }
+
+}
@@ -0,0 +1,328 @@
+package ppt4j.util;
+
+import ppt4j.annotation.Property;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs `java <options> -cp <classpath> <main> <args>` commands on a pool of
+// pre-started worker VMs (see ExecWorker) instead of forking one VM per command.
+// Class path entries beyond ppt4j.classpath are loaded per job, so every job
+// still sees its own target classes. Commands of any other shape are forked.
+@Log4j
+@SuppressWarnings("unused")
+final class PooledExecDriver implements ExecDriver {
+
+    @Property("ppt4j.exec.pool.size")
+    private static int POOL_SIZE;
+
+    @Property("ppt4j.exec.pool.max_jobs")
+    private static int MAX_JOBS;
+
+    @Property("ppt4j.exec.pool.max_heap_mb")
+    private static long MAX_HEAP_MB;
+
+    @Property("ppt4j.classpath")
+    private static String BASE_CLASSPATH;
+
+    private static class ProcState {
+        static final int UNINITIALIZED = 0;
+        static final int RUNNING = 1;
+        static final int EXITED = 2;
+    }
+
+    private static WorkerPool pool;
+
+    private int state = ProcState.UNINITIALIZED;
+    private int exitValue = -1;
+    private String cmdline;
+    private Future<Integer> task;
+    private Job job;
+    private Map<String, Object> result;
+    private ExecDriver fallback;
+
+    static boolean isEnabled() {
+        return POOL_SIZE > 0;
+    }
+
+    private static synchronized WorkerPool getPool() {
+        if(pool == null) {
+            pool = new WorkerPool(Math.max(POOL_SIZE, 1));
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown));
+        }
+        return pool;
+    }
+
+    @Override
+    public String getCmdline() {
+        if(state == ProcState.UNINITIALIZED)
+            return null;
+        return fallback != null ? fallback.getCmdline() : cmdline;
+    }
+
+    @Override
+    public synchronized void dispatch(final String cmd) {
+        if(state != ProcState.UNINITIALIZED) {
+            throw new IllegalStateException(
+                    "Process has already been dispatched");
+        }
+        job = Job.parse(cmd);
+        if(job == null) {
+            log.debug("Command cannot run on a pooled worker, forking instead");
+            fallback = new UnixExecDriver();
+            fallback.dispatch(cmd);
+        } else {
+            task = getPool().submit(job);
+        }
+        cmdline = cmd;
+        state = ProcState.RUNNING;
+    }
+
+    @Override
+    public synchronized int join() {
+        if(state != ProcState.RUNNING) {
+            throw new IllegalStateException("Process not running");
+        }
+        if(fallback != null) {
+            exitValue = fallback.join();
+        } else {
+            try {
+                exitValue = task.get();
+            } catch (InterruptedException | ExecutionException e) {
+                e.printStackTrace();
+                exitValue = -1;
+            }
+            if(job.response != null) {
+                result = Worker.mapper.convertValue(job.response,
+                        new TypeReference<Map<String, Object>>() {});
+            }
+        }
+        state = ProcState.EXITED;
+        return exitValue;
+    }
+
+    @Override
+    public int execute(final String cmd) {
+        dispatch(cmd);
+        return join();
+    }
+
+    @Override
+    public int exitValue() {
+        if(state != ProcState.EXITED) {
+            throw new IllegalStateException("Process not exited");
+        }
+        return exitValue;
+    }
+
+    @Override
+    public Map<String, Object> getResult() {
+        if(state != ProcState.EXITED) {
+            throw new IllegalStateException("Process not exited");
+        }
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        state = ProcState.UNINITIALIZED;
+        fallback = null;
+        task = null;
+        job = null;
+        result = null;
+    }
+
+    private static final class Job {
+
+        private static final AtomicLong ids = new AtomicLong();
+
+        final String vmOptions;
+        final ExecWorker.Job request = new ExecWorker.Job();
+
+        // the worker's answer, null if the worker died
+        volatile JsonNode response;
+
+        private Job(String vmOptions, String classpath, String main, String[] args) {
+            this.vmOptions = vmOptions;
+            Set<String> base = new HashSet<>(Arrays.asList(
+                    BASE_CLASSPATH.split(File.pathSeparator)));
+            request.id = ids.incrementAndGet();
+            request.main = main;
+            request.args = args;
+            request.classpath = Arrays.stream(classpath.split(File.pathSeparator))
+                    .filter(s -> !s.isEmpty() && !base.contains(s))
+                    .toArray(String[]::new);
+        }
+
+        // expected shape: java <vm options> -cp <classpath> <main class> <args>
+        static Job parse(String cmd) {
+            String[] tokens = cmd.trim().split("\\s+");
+            if(tokens.length < 4 || !tokens[0].equals("java")) {
+                return null;
+            }
+            int cp = Arrays.asList(tokens).indexOf("-cp");
+            if(cp == -1 || cp + 2 >= tokens.length) {
+                return null;
+            }
+            for (String token : tokens) {
+                if(token.matches(".*[|&;<>`$()].*")) {
+                    return null;
+                }
+            }
+            String vmOptions = String.join(" ", Arrays.copyOfRange(tokens, 1, cp));
+            String[] args = Arrays.copyOfRange(tokens, cp + 3, tokens.length);
+            return new Job(vmOptions, tokens[cp + 1], tokens[cp + 2], args);
+        }
+    }
+
+    private static final class Worker {
+
+        private static final ObjectMapper mapper = new ObjectMapper();
+
+        final String vmOptions;
+        final Process process;
+        final BufferedWriter stdin;
+        final BufferedReader stdout;
+        int jobs = 0;
+
+        Worker(String vmOptions) throws IOException {
+            this.vmOptions = vmOptions;
+            String cmd = String.format("java %s -cp %s %s",
+                    vmOptions, BASE_CLASSPATH, ExecWorker.class.getName());
+            log.debug("Starting pooled worker: " + cmd);
+            process = new ProcessBuilder("/bin/sh", "-c", cmd)
+                    .directory(new File(System.getProperty("user.dir")))
+                    .start();
+            stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+            stdout = new BufferedReader(new InputStreamReader(process.getInputStream()));
+            Thread pipe = new Thread(() ->
+                    new BufferedReader(new InputStreamReader(process.getErrorStream()))
+                            .lines()
+                            .forEach(System.out::println));
+            pipe.setDaemon(true);
+            pipe.start();
+        }
+
+        // returns null if the worker died while running the job
+        JsonNode run(ExecWorker.Job job) throws IOException {
+            jobs++;
+            stdin.write(mapper.writeValueAsString(job));
+            stdin.newLine();
+            stdin.flush();
+            String line = stdout.readLine();
+            return line == null ? null : mapper.readTree(line);
+        }
+
+        boolean isAlive() {
+            return process.isAlive();
+        }
+
+        int waitForExit() throws InterruptedException {
+            return process.waitFor();
+        }
+
+        void close() {
+            try {
+                stdin.close();
+            } catch (IOException ignored) {
+            }
+            process.destroy();
+        }
+    }
+
+    private static final class WorkerPool {
+
+        private final ExecutorService dispatcher;
+
+        private final Deque<Worker> idle = new ArrayDeque<>();
+
+        private final Set<Worker> all = ConcurrentHashMap.newKeySet();
+
+        WorkerPool(int size) {
+            dispatcher = Executors.newFixedThreadPool(size, r -> {
+                Thread t = new Thread(r, "exec-pool");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+
+        Future<Integer> submit(Job job) {
+            return dispatcher.submit(() -> run(job));
+        }
+
+        private Worker acquire(String vmOptions) throws IOException {
+            synchronized (idle) {
+                Iterator<Worker> it = idle.iterator();
+                while (it.hasNext()) {
+                    Worker w = it.next();
+                    it.remove();
+                    if(w.vmOptions.equals(vmOptions) && w.isAlive()) {
+                        return w;
+                    }
+                    all.remove(w);
+                    w.close();
+                }
+            }
+            // started on demand, at most one per dispatcher thread
+            Worker w = new Worker(vmOptions);
+            all.add(w);
+            return w;
+        }
+
+        private void release(Worker w, JsonNode result) {
+            boolean recycle = result == null
+                    || result.path("fatal").asBoolean(false)
+                    || w.jobs >= MAX_JOBS
+                    || result.path("heap_used_mb").asLong(0) > MAX_HEAP_MB
+                    || !w.isAlive();
+            if(recycle) {
+                log.debug("Recycling pooled worker after " + w.jobs + " jobs");
+                all.remove(w);
+                w.close();
+                return;
+            }
+            synchronized (idle) {
+                idle.push(w);
+            }
+        }
+
+        private int run(Job job) throws IOException, InterruptedException {
+            Worker w = acquire(job.vmOptions);
+            JsonNode result;
+            try {
+                result = w.run(job.request);
+            } catch (IOException e) {
+                log.error(e);
+                result = null;
+            }
+            release(w, result);
+            job.response = result;
+            if(result == null) {
+                // the job terminated the worker VM, e.g. through System.exit
+                return w.waitForExit();
+            }
+            if(result.hasNonNull("error")) {
+                log.debug("Pooled job failed: " + result.get("error").asText());
+            }
+            log.debug(String.format("Pooled job finished after %d ms",
+                    result.path("elapsed_ms").asLong()));
+            return result.path("exit").asInt(-1);
+        }
+
+        void shutdown() {
+            dispatcher.shutdownNow();
+            synchronized (idle) {
+                idle.clear();
+            }
+            all.forEach(Worker::close);
+            all.clear();
+        }
+    }
+
+}
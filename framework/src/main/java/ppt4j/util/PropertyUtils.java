@@ -13,6 +13,8 @@ public class PropertyUtils {
 
     private static final Properties properties = new Properties();
 
+    private static volatile boolean initialized = false;
+
     public static void load(InputStream is) {
         try {
             properties.load(is);
@@ -28,6 +30,11 @@ public class PropertyUtils {
 
     public static void init() {
         PackageScanner.getClasses("ppt4j").forEach(PropertyUtils::initValue);
+        initialized = true;
+    }
+
+    public static boolean isInitialized() {
+        return initialized;
     }
 
     public static void initValue(Class<?> clazz) {
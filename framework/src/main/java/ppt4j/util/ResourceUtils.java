@@ -5,13 +5,20 @@ import ppt4j.Main;
 import ppt4j.annotation.Property;
 import ppt4j.database.DatabaseType;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
 @Log4j
 public class ResourceUtils {
@@ -22,39 +29,101 @@ public class ResourceUtils {
     @Property("ppt4j.database.root")
     private static String root;
 
-    @Property("ppt4j.resources.vul_template")
-    private static String vulTemplatePath;
-
     private static final String propertiesPath = "/ppt4j.properties";
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
+    @Property("ppt4j.resources.database.cache_size_mb")
+    private static long CACHE_SIZE_MB;
+
+    // opened once, entries are then looked up through the central directory
+    private static volatile ZipFile database;
+
+    // inflated entries, least recently read first, at most CACHE_SIZE_MB in total
+    private static final LinkedHashMap<String, byte[]>
+            inflated = new LinkedHashMap<>(16, 0.75f, true);
+    private static long inflatedSize = 0;
+
     public static InputStream readDatabase(String name) {
-        InputStream db = Main.class.getResourceAsStream(databasePath);
-        assert db != null;
-        try (ZipInputStream zis = new ZipInputStream(db);
-             BufferedInputStream bis = new BufferedInputStream(zis)) {
-            ZipEntry ze;
-            while ((ze = zis.getNextEntry()) != null) {
-                if (ze.getName().equals(name)) {
-                    break;
-                }
-            }
+        byte[] content = getInflated(name);
+        if (content != null) {
+            return new ByteArrayInputStream(content);
+        }
+        try {
+            ZipFile db = getDatabase();
+            ZipEntry ze = db.getEntry(name);
             if (ze == null) {
                 return null;
             }
-            int size = (int) ze.getSize();
-            byte[] buffer = new byte[size];
-            bis.read(buffer, 0, size);
-            return new ByteArrayInputStream(buffer);
+            try (InputStream is = db.getInputStream(ze)) {
+                content = is.readAllBytes();
+            }
         } catch (IOException e) {
             log.error(e);
             throw new RuntimeException();
         }
+        putInflated(name, content);
+        return new ByteArrayInputStream(content);
     }
 
-    public static InputStream readVulTemplate() {
-        InputStream is = Main.class.getResourceAsStream(vulTemplatePath);
-        return Objects.requireNonNull(is);
+    private static synchronized byte[] getInflated(String name) {
+        return inflated.get(name);
+    }
+
+    // the bytes are shared by the streams returned, which never write them
+    private static synchronized void putInflated(String name, byte[] content) {
+        long maxSize = CACHE_SIZE_MB << 20;
+        if (content.length > maxSize || inflated.containsKey(name)) {
+            return;
+        }
+        inflated.put(name, content);
+        inflatedSize += content.length;
+        Iterator<byte[]> it = inflated.values().iterator();
+        while (inflatedSize > maxSize) {
+            inflatedSize -= it.next().length;
+            it.remove();
+        }
+    }
+
+    // names of the files in the database under the given directory
+    public static List<String> listDatabase(String dir) {
+        try {
+            return getDatabase().stream()
+                    .filter(ze -> !ze.isDirectory() && ze.getName().startsWith(dir))
+                    .map(ZipEntry::getName)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.error(e);
+            throw new RuntimeException();
+        }
+    }
+
+    private static ZipFile getDatabase() throws IOException {
+        if (database == null) {
+            synchronized (ResourceUtils.class) {
+                if (database == null) {
+                    database = openDatabase();
+                }
+            }
+        }
+        return database;
+    }
+
+    private static ZipFile openDatabase() throws IOException {
+        URL url = Main.class.getResource(databasePath);
+        assert url != null;
+        if (url.getProtocol().equals("file")) {
+            try {
+                return new ZipFile(new File(url.toURI()));
+            } catch (URISyntaxException ignored) {
+            }
+        }
+        // packaged into a jar, ZipFile needs a file of its own
+        File temp = File.createTempFile("ppt4j-db", ".bin");
+        temp.deleteOnExit();
+        try (InputStream is = url.openStream()) {
+            Files.copy(is, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        return new ZipFile(temp);
     }
 
     public static InputStream readProperties() {
@@ -11,9 +11,7 @@ import ppt4j.database.VulnerabilityInfo;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 
 public class StringUtils {
 
@@ -113,7 +111,7 @@ public class StringUtils {
         }
         sb.append(")");
         sb.append(convertToDescriptor(returnType));
-        return sb.toString();
+        return InternPool.intern(sb.toString());
     }
 
     public static String convertQualifiedName(String name, String className) {
@@ -175,6 +173,11 @@ public class StringUtils {
 
     public static @NonNull Main.Command matchPrefix(String prefix) {
         Main.Command matched = null;
+        for (Main.Command command : Main.Command.values()) {
+            if(command.name.equals(prefix.toLowerCase())) {
+                return command;
+            }
+        }
         for (Main.Command command : Main.Command.values()) {
             if(command.name.startsWith(prefix.toLowerCase())) {
                 if(matched != null) {
@@ -400,24 +403,6 @@ public class StringUtils {
         throw new IllegalStateException("Must specify src_top_level_dir with custom build system");
     }
 
-    public static String buildNewStringArrayCode(String[] arr) {
-        if(arr == null || arr.length == 0) {
-            return "new String[0]";
-        }
-        StringBuilder sb = new StringBuilder();
-        sb.append("new String[] {");
-        for(String e : arr) {
-            sb.append("\"").append(e).append("\",");
-        }
-        sb.deleteCharAt(sb.length() - 1);
-        sb.append("}");
-        return sb.toString();
-    }
-
-    public static String getThirdPartySrcDirsString(VulnerabilityInfo info) {
-        return buildNewStringArrayCode(info.third_party_src_dirs);
-    }
-
     public static String getClassPathToLoad(Vulnerability vuln) {
 
         return String.join(File.pathSeparator,
@@ -428,7 +413,40 @@ public class StringUtils {
                         getThirdPartyLibDirsFromPrepatch(vuln)));
     }
 
-    public static String getThirdPartyLibDirsString(VulnerabilityInfo info) {
-        return buildNewStringArrayCode(info.third_party_lib_dirs);
+    public static String getClassPathToLoad(Collection<Vulnerability> vulns) {
+        Set<String> paths = new LinkedHashSet<>();
+        paths.add(CLASSPATH);
+        for (Vulnerability vuln : vulns) {
+            paths.add(getDatabasePrepatchClassPath(vuln));
+            paths.add(getDatabasePostpatchClassPath(vuln));
+            paths.addAll(Arrays.asList(getThirdPartyLibDirsFromPrepatch(vuln)));
+        }
+        return String.join(File.pathSeparator, paths);
+    }
+
+    public static List<Integer> parseDatabaseIds(String spec) {
+        // pattern: comma-separated ids or inclusive ranges, e.g. 1-10,15,20
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (String part : spec.split(",")) {
+            part = part.trim();
+            if(part.isEmpty()) {
+                continue;
+            }
+            if(part.matches("\\d+-\\d+")) {
+                int from = Integer.parseInt(part.substring(0, part.indexOf('-')));
+                int to = Integer.parseInt(part.substring(part.indexOf('-') + 1));
+                if(from > to) {
+                    throw new IllegalArgumentException("Invalid id range: " + part);
+                }
+                for (int id = from; id <= to; id++) {
+                    ids.add(id);
+                }
+            } else if(part.matches("\\d+")) {
+                ids.add(Integer.parseInt(part));
+            } else {
+                throw new IllegalArgumentException("Invalid database id: " + part);
+            }
+        }
+        return new ArrayList<>(ids);
     }
 }
\ No newline at end of file
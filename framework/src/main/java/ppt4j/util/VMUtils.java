@@ -4,6 +4,8 @@ import ppt4j.annotation.Property;
 import lombok.extern.log4j.Log4j;
 
 import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
 
 @Log4j
 public class VMUtils {
@@ -20,6 +22,15 @@ public class VMUtils {
                 return;
             }
         }
+        // jobs on pooled workers get their class path through the context loader
+        if(Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader) {
+            for (URL url : loader.getURLs()) {
+                if(new File(url.getPath()).getAbsolutePath()
+                        .equals(new File(absClassPath).getAbsolutePath())) {
+                    return;
+                }
+            }
+        }
         log.warn(
                 "Classpath not set correctly in VM options, add " +
                 classPath
@@ -34,9 +34,19 @@ def run_all_tests():
             run_test(j, i, debug=True)
 
 
+def check_database():
+    compile_project()
+    log(INFO, 'Loading the serialized extractors in the database')
+    ret = os.system('java -cp lib/*:framework/target/classes/ ppt4j.database.DatabaseCheck')
+    if ret != 0:
+        log(ERROR, 'Database check failed')
+        sys.exit(1)
+
+
 def print_help_and_exit():
     print('Usage: python -m scripts.test <gt_binary_type> <patch_id>')
     print('     or python -m scripts.test all')
+    print('     or python -m scripts.test db')
     sys.exit(1)
 
 
@@ -45,6 +55,8 @@ if __name__ == '__main__':
         print_help_and_exit()
     if sys.argv[1] == 'all':
         run_all_tests()
+    elif sys.argv[1] == 'db':
+        check_database()
     else:
         if len(sys.argv) < 3:
             print_help_and_exit()